@@ -0,0 +1,326 @@
+package kg.nurtelecom.specialtask.benchmark;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import kg.nurtelecom.specialtask.payload.requests.ProductModel;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link RequestsArgumentResolver#resolveArgument} against mock requests of different shapes.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec}. The profile enables the GC profiler,
+ * so the report contains throughput, average latency and the allocation rate per operation
+ * ({@code gc.alloc.rate.norm}).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestsArgumentResolverBenchmark {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID USER_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    /**
+     * Request shape being resolved.
+     */
+    @Param({
+            "RECORD", "BEAN",
+            "HEADER", "PARAM", "PATH", "COOKIE", "ATTRIBUTE", "SESSION", "MULTIPART",
+            "BODY_SMALL", "BODY_LARGE", "MANY_COOKIES", "MULTIPART_LARGE"
+    })
+    public Shape shape;
+
+    private RequestsArgumentResolver resolver;
+    private MethodParameter parameter;
+    private NativeWebRequest webRequest;
+
+    @Setup
+    public void setUp() {
+        resolver = RequestsArgumentResolver.builder(
+                new BindingPlanRegistry(new DefaultFormattingConversionService())).build();
+        parameter = shape.parameter();
+        webRequest = new ServletWebRequest(shape.request());
+    }
+
+    @Benchmark
+    public Object resolveArgument() throws Exception {
+        // Every invocation builds the source snapshot again, like a new request would.
+        webRequest.removeAttribute(RequestsArgumentResolver.REQUEST_SOURCES_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return resolver.resolveArgument(parameter, null, webRequest, null);
+    }
+
+    public enum Shape {
+        RECORD("record", ProductRequestParam.class) {
+            @Override
+            HttpServletRequest request() {
+                return productRequest();
+            }
+        },
+        BEAN("bean", ProductModel.class) {
+            @Override
+            HttpServletRequest request() {
+                return productRequest();
+            }
+        },
+        HEADER("header", HeaderModel.class) {
+            @Override
+            HttpServletRequest request() {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.addHeader("X-Custom-Header", "CustomHeaderValue");
+                return request;
+            }
+        },
+        PARAM("param", ParamModel.class) {
+            @Override
+            HttpServletRequest request() {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.addParameter("quantity", "5");
+                return request;
+            }
+        },
+        PATH("path", PathModel.class) {
+            @Override
+            HttpServletRequest request() {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("quantity", "10"));
+                return request;
+            }
+        },
+        COOKIE("cookie", CookieModel.class) {
+            @Override
+            HttpServletRequest request() {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.setCookies(new Cookie("userId", USER_ID.toString()));
+                return request;
+            }
+        },
+        ATTRIBUTE("attribute", AttributeModel.class) {
+            @Override
+            HttpServletRequest request() {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.setAttribute("customAttribute", "DefaultCustomAttribute");
+                return request;
+            }
+        },
+        SESSION("session", SessionModel.class) {
+            @Override
+            HttpServletRequest request() {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute("description", "Premium Product");
+                request.setSession(session);
+                return request;
+            }
+        },
+        MULTIPART("multipart", MultipartModel.class) {
+            @Override
+            HttpServletRequest request() {
+                return multipartRequest(1024);
+            }
+        },
+        BODY_SMALL("body", BodyModel.class) {
+            @Override
+            HttpServletRequest request() {
+                return jsonRequest("{\"username\": \"TestProduct\"}");
+            }
+        },
+        BODY_LARGE("body", BodyModel.class) {
+            @Override
+            HttpServletRequest request() {
+                StringBuilder json = new StringBuilder("{\"items\": [");
+                for (int i = 0; i < 20_000; i++) {
+                    json.append(i == 0 ? "" : ",").append("{\"sku\": \"SKU-").append(i).append("\", \"count\": ")
+                            .append(i).append('}');
+                }
+                return jsonRequest(json.append("], \"username\": \"TestProduct\"}").toString());
+            }
+        },
+        MANY_COOKIES("cookie", CookieModel.class) {
+            @Override
+            HttpServletRequest request() {
+                Cookie[] cookies = new Cookie[64];
+                for (int i = 0; i < cookies.length - 1; i++) {
+                    cookies[i] = new Cookie("tracking" + i, UUID.randomUUID().toString());
+                }
+                cookies[cookies.length - 1] = new Cookie("userId", USER_ID.toString());
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                request.setCookies(cookies);
+                return request;
+            }
+        },
+        MULTIPART_LARGE("multipart", MultipartModel.class) {
+            @Override
+            HttpServletRequest request() {
+                return multipartRequest(8 * 1024 * 1024);
+            }
+        };
+
+        private final String handlerMethod;
+        private final Class<?> modelClass;
+
+        Shape(String handlerMethod, Class<?> modelClass) {
+            this.handlerMethod = handlerMethod;
+            this.modelClass = modelClass;
+        }
+
+        abstract HttpServletRequest request();
+
+        MethodParameter parameter() {
+            try {
+                return new MethodParameter(Handlers.class.getDeclaredMethod(handlerMethod, modelClass), 0);
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static MockMultipartHttpServletRequest productRequest() {
+        MockMultipartHttpServletRequest request = multipartRequest(1024);
+        request.addParameter("quantity", "5");
+        request.addParameter("productId", PRODUCT_ID.toString());
+        request.addParameter("username", "TestProduct");
+        request.addHeader("X-Custom-Header", "CustomHeaderValue");
+        request.setCookies(new Cookie("userId", USER_ID.toString()));
+        request.setAttribute("customAttribute", "DefaultCustomAttribute");
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("description", "Premium Product");
+        request.setSession(session);
+        return request;
+    }
+
+    private static MockMultipartHttpServletRequest multipartRequest(int fileSize) {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addFile(new MockMultipartFile("file", "da.txt", "text/plain", new byte[fileSize]));
+        return request;
+    }
+
+    /**
+     * JSON request whose body can be read again on every invocation.
+     */
+    private static MockHttpServletRequest jsonRequest(String json) {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public ServletInputStream getInputStream() {
+                return new DelegatingServletInputStream(new ByteArrayInputStream(body));
+            }
+        };
+        request.setContentType("application/json");
+        request.setContent(body);
+        return request;
+    }
+
+    public record HeaderModel(
+            @RequestType(value = TypeOfDataRequest.HEADER, key = "X-Custom-Header")
+            String header
+    ) {}
+
+    public record ParamModel(
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "quantity")
+            Integer quantity
+    ) {}
+
+    public record PathModel(
+            @RequestType(value = TypeOfDataRequest.PATH, key = "quantity")
+            Integer quantity
+    ) {}
+
+    public record CookieModel(
+            @RequestType(value = TypeOfDataRequest.COOKIE, key = "userId")
+            UUID userId
+    ) {}
+
+    public record AttributeModel(
+            @RequestType(value = TypeOfDataRequest.ATTRIBUTE, key = "customAttribute")
+            String value
+    ) {}
+
+    public record SessionModel(
+            @RequestType(value = TypeOfDataRequest.SESSION, key = "description")
+            String description
+    ) {}
+
+    public record BodyModel(
+            @RequestType(value = TypeOfDataRequest.BODY, key = "username")
+            String name
+    ) {}
+
+    public record MultipartModel(
+            @RequestType(value = TypeOfDataRequest.MULTIPART, key = "file")
+            MultipartFile file
+    ) {}
+
+    @SuppressWarnings("unused")
+    private static final class Handlers {
+
+        void record(@BindRequest ProductRequestParam param) {
+        }
+
+        void bean(@BindRequest ProductModel model) {
+        }
+
+        void header(@BindRequest HeaderModel model) {
+        }
+
+        void param(@BindRequest ParamModel model) {
+        }
+
+        void path(@BindRequest PathModel model) {
+        }
+
+        void cookie(@BindRequest CookieModel model) {
+        }
+
+        void attribute(@BindRequest AttributeModel model) {
+        }
+
+        void session(@BindRequest SessionModel model) {
+        }
+
+        void body(@BindRequest BodyModel model) {
+        }
+
+        void multipart(@BindRequest MultipartModel model) {
+        }
+    }
+}
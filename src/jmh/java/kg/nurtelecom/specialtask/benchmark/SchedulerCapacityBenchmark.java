@@ -0,0 +1,163 @@
+package kg.nurtelecom.specialtask.benchmark;
+
+import jakarta.servlet.http.Cookie;
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestParam;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Demonstrates how many concurrent blocked requests a bounded platform-thread pool and virtual threads can carry.
+ * <p>
+ * {@value #CONCURRENCY} benchmark threads act as clients. Each invocation submits one request to the executor
+ * and waits for it: the request is bound with {@link RequestsArgumentResolver} and then sleeps for
+ * {@code sleepMillis}. The sleep dominates every request, so the results show the scheduling capacity of the
+ * executor, not the cost of binding or of real I/O: with more clients than pool threads, platform-thread requests
+ * queue up, while virtual threads release their carrier during the sleep. The cost of binding itself is measured
+ * by {@link RequestsArgumentResolverBenchmark}, and blocking I/O end to end by the load test with
+ * {@code spring.threads.virtual.enabled}. The report holds the throughput and, from the sample-time mode, the
+ * latency percentiles including p0.99.
+ * </p>
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec -Djmh.includes=SchedulerCapacityBenchmark}.
+ * The {@code VIRTUAL} executor needs Java 21 or newer.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(SchedulerCapacityBenchmark.CONCURRENCY)
+@Fork(1)
+public class SchedulerCapacityBenchmark {
+
+    /**
+     * Number of concurrent clients.
+     */
+    static final int CONCURRENCY = 1000;
+
+    private static final UUID PRODUCT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID USER_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    /**
+     * Threads the requests are handled on.
+     */
+    @Param({"PLATFORM", "VIRTUAL"})
+    public Executor executor;
+
+    /**
+     * Size of the platform-thread pool, Tomcat's default {@code server.tomcat.threads.max}.
+     */
+    @Param("200")
+    public int platformThreads;
+
+    /**
+     * Time each request sleeps after binding, standing in for the latency of a blocking call.
+     */
+    @Param("10")
+    public int sleepMillis;
+
+    private ExecutorService executorService;
+    private RequestsArgumentResolver resolver;
+    private MethodParameter parameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        executorService = executor.create(platformThreads);
+        resolver = RequestsArgumentResolver.builder(
+                new BindingPlanRegistry(new DefaultFormattingConversionService())).build();
+        parameter = new MethodParameter(Handlers.class.getDeclaredMethod("record", ProductRequestParam.class), 0);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executorService.shutdown();
+        executorService.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public Object handle() throws Exception {
+        return executorService.submit(this::request).get();
+    }
+
+    /**
+     * Binds a new request and sleeps in place of the blocking work of the handler.
+     */
+    private Object request() throws Exception {
+        Object argument = resolver.resolveArgument(parameter, null, new ServletWebRequest(productRequest()), null);
+        Thread.sleep(sleepMillis);
+        return argument;
+    }
+
+    public enum Executor {
+        PLATFORM {
+            @Override
+            ExecutorService create(int platformThreads) {
+                return Executors.newFixedThreadPool(platformThreads);
+            }
+        },
+        VIRTUAL {
+            @Override
+            ExecutorService create(int platformThreads) {
+                try {
+                    return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                            .invoke(null);
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Virtual threads require Java 21 or newer", e);
+                }
+            }
+        };
+
+        abstract ExecutorService create(int platformThreads);
+    }
+
+    private static MockMultipartHttpServletRequest productRequest() {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.setMethod("POST");
+        request.addParameter("quantity", "5");
+        request.addParameter("username", "TestProduct");
+        request.addParameter("productId", PRODUCT_ID.toString());
+        request.addHeader("X-Custom-Header", "CustomHeaderValue");
+        request.setCookies(new Cookie("userId", USER_ID.toString()));
+        request.setAttribute("customAttribute", "DefaultCustomAttribute");
+        request.addFile(new MockMultipartFile("file", "da.txt", "text/plain",
+                "Test file".getBytes(StandardCharsets.UTF_8)));
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("description", "Premium Product");
+        request.setSession(session);
+        return request;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Handlers {
+
+        void record(@BindRequest ProductRequestParam param) {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package kg.nurtelecom.specialtask.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Machine-readable result of a {@link LoadTest} run, written as JSON so runs of different builds can be diffed.
+ *
+ * @param mode            the load model, {@code closed} or {@code rate}.
+ * @param concurrency     the number of clients of a closed-loop run.
+ * @param rate            the requests per second of a fixed-rate run.
+ * @param durationSeconds the measured duration, without the warmup.
+ * @param total           the results of all requests.
+ * @param requests        the results by template name.
+ */
+record LoadReport(String mode, int concurrency, int rate, double durationSeconds, Result total,
+                  Map<String, Result> requests) {
+
+    /**
+     * Builds the report from the recorded statistics.
+     *
+     * @param options         the options of the run.
+     * @param stats           the statistics by template name.
+     * @param durationSeconds the measured duration.
+     * @return the report.
+     */
+    static LoadReport of(LoadTest.Options options, Map<String, LoadStats> stats, double durationSeconds) {
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        Map<String, Long> outcomes = new TreeMap<>();
+        Map<String, Result> requests = new LinkedHashMap<>();
+        for (Map.Entry<String, LoadStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().histogram();
+            Map<String, Long> templateOutcomes = entry.getValue().outcomes();
+            all.add(histogram);
+            errors += entry.getValue().errors();
+            templateOutcomes.forEach((outcome, count) -> outcomes.merge(outcome, count, Long::sum));
+            requests.put(entry.getKey(),
+                    Result.of(histogram, entry.getValue().errors(), templateOutcomes, durationSeconds));
+        }
+        return new LoadReport(options.mode(), options.concurrency(), options.rate(), durationSeconds,
+                Result.of(all, errors, outcomes, durationSeconds), requests);
+    }
+
+    /**
+     * Results of a set of requests.
+     *
+     * @param count         the number of requests, including failed ones.
+     * @param errors        the number of error responses and requests without a response.
+     * @param errorRate     the share of failed requests.
+     * @param throughput    the requests per second.
+     * @param latencyMillis the latency percentiles of the requests that got a response.
+     * @param outcomes      the number of requests by status code or exception name.
+     */
+    record Result(long count, long errors, double errorRate, double throughput, Latency latencyMillis,
+                  Map<String, Long> outcomes) {
+
+        static Result of(Histogram histogram, long errors, Map<String, Long> outcomes, double durationSeconds) {
+            long count = outcomes.values().stream().mapToLong(Long::longValue).sum();
+            return new Result(count, errors, count > 0 ? (double) errors / count : 0,
+                    count / durationSeconds, Latency.of(histogram), outcomes);
+        }
+    }
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static Latency of(Histogram histogram) {
+            return new Latency(histogram.getMean() / 1000, percentile(histogram, 50), percentile(histogram, 90),
+                    percentile(histogram, 99), percentile(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+        }
+
+        private static double percentile(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package kg.nurtelecom.specialtask.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of one request template, recorded concurrently by the load generating threads.
+ * <p>
+ * Latencies are recorded in microseconds into an HdrHistogram {@link Recorder} with three significant digits.
+ * Every response with a status of 400 or above and every request that failed without a response counts as an
+ * error; the outcomes are counted by status code or exception name.
+ * </p>
+ */
+final class LoadStats {
+
+    private final Recorder latency = new Recorder(3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Records a response.
+     *
+     * @param status the response status code.
+     * @param nanos  the latency from the intended start of the request.
+     */
+    void completed(int status, long nanos) {
+        latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        outcomes.computeIfAbsent(Integer.toString(status), outcome -> new LongAdder()).increment();
+        if (status >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Records a request that failed without a response.
+     *
+     * @param error the failure.
+     */
+    void failed(Throwable error) {
+        outcomes.computeIfAbsent(error.getClass().getSimpleName(), outcome -> new LongAdder()).increment();
+        errors.increment();
+    }
+
+    /**
+     * Returns the latencies recorded so far. Each latency is returned only once.
+     *
+     * @return the histogram of latencies in microseconds.
+     */
+    Histogram histogram() {
+        return latency.getIntervalHistogram();
+    }
+
+    /**
+     * Returns the counts of the outcomes.
+     *
+     * @return the number of requests by status code or exception name.
+     */
+    Map<String, Long> outcomes() {
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Returns the number of failed requests.
+     *
+     * @return the number of error responses and requests without a response.
+     */
+    long errors() {
+        return errors.sum();
+    }
+}
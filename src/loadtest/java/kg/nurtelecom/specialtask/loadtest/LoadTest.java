@@ -0,0 +1,280 @@
+package kg.nurtelecom.specialtask.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kg.nurtelecom.specialtask.SpecialTaskApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the application.
+ * <p>
+ * Boots the application on a random port, or targets a running instance given with {@code --url}, and replays
+ * the {@link RequestTemplate}s of a JSON lines file, {@code loadtest-requests.jsonl} from the classpath by default.
+ * Templates are sent round robin in proportion to their weights, so runs are reproducible. Before the run,
+ * {@code --sessions} sessions are initialized and the templates that need a session use them in turn.
+ * </p>
+ * <p>
+ * The load is generated either by {@code --concurrency} closed-loop clients that send the next request as soon as
+ * the previous one completed ({@code --mode=closed}), or at a fixed {@code --rate} of requests per second
+ * ({@code --mode=rate}). In the fixed-rate mode latencies are measured from the intended start of each request,
+ * so a stalled server is not hidden by requests that were sent late. Requests started during the {@code --warmup}
+ * are not recorded; the measurement lasts {@code --duration}. The {@link LoadReport} is printed and written as
+ * JSON to {@code --report}.
+ * </p>
+ * <p>
+ * Run with {@code ./mvnw -Ploadtest test-compile exec:exec}, see the {@code loadtest} profile for the options.
+ * </p>
+ */
+public final class LoadTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Options options;
+    private final List<RequestTemplate.Compiled> schedule = new ArrayList<>();
+    private final Map<String, LoadStats> stats = new LinkedHashMap<>();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private LoadTest(Options options, List<RequestTemplate> templates, URI baseUri) {
+        this.options = options;
+        for (RequestTemplate template : templates) {
+            RequestTemplate.Compiled compiled = template.compile(baseUri);
+            for (int i = 0; i < (template.weight() != null ? template.weight() : 1); i++) {
+                schedule.add(compiled);
+            }
+            stats.putIfAbsent(template.name(), new LoadStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        List<RequestTemplate> templates = readTemplates(options.templates());
+        Path uploadDir = Files.createTempDirectory("loadtest-uploads");
+        ConfigurableApplicationContext context = null;
+        try {
+            URI baseUri = options.url();
+            if (baseUri == null) {
+                context = new SpringApplicationBuilder(SpecialTaskApplication.class)
+                        .run("--server.port=0", "--upload.dir=" + uploadDir, "--logging.level.root=WARN");
+                baseUri = URI.create("http://localhost:"
+                        + ((WebServerApplicationContext) context).getWebServer().getPort());
+            }
+            LoadReport report = new LoadTest(options, templates, baseUri).run(baseUri);
+            print(report);
+            if (options.report().getParent() != null) {
+                Files.createDirectories(options.report().getParent());
+            }
+            OBJECT_MAPPER.writeValue(options.report().toFile(), report);
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            FileSystemUtils.deleteRecursively(uploadDir);
+        }
+    }
+
+    private static List<RequestTemplate> readTemplates(Path templates) throws IOException {
+        InputStream in = templates != null
+                ? Files.newInputStream(templates)
+                : LoadTest.class.getResourceAsStream("/loadtest-requests.jsonl");
+        if (in == null) {
+            throw new IOException("loadtest-requests.jsonl not found on the classpath");
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            return RequestTemplate.read(reader);
+        }
+    }
+
+    private LoadReport run(URI baseUri) throws Exception {
+        List<String> sessions = initSessions(baseUri);
+        long measureStart = System.nanoTime() + options.warmup().toNanos();
+        long end = measureStart + options.duration().toNanos();
+        if ("closed".equals(options.mode())) {
+            runClosedLoop(sessions, measureStart, end);
+        } else {
+            runFixedRate(sessions, measureStart, end);
+        }
+        return LoadReport.of(options, stats, options.duration().toNanos() / 1e9);
+    }
+
+    /**
+     * Initializes the sessions and returns the Cookie header value of each.
+     */
+    private List<String> initSessions(URI baseUri) throws IOException, InterruptedException {
+        List<String> sessions = new ArrayList<>();
+        for (int i = 0; i < options.sessions(); i++) {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(baseUri.resolve(options.sessionPath()))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                throw new IOException("Session initialization failed with status " + response.statusCode());
+            }
+            StringJoiner cookies = new StringJoiner("; ");
+            for (String header : response.headers().allValues("Set-Cookie")) {
+                for (HttpCookie cookie : HttpCookie.parse(header)) {
+                    cookies.add(cookie.getName() + "=" + cookie.getValue());
+                }
+            }
+            sessions.add(cookies.toString());
+        }
+        return sessions;
+    }
+
+    private void runClosedLoop(List<String> sessions, long measureStart, long end) throws InterruptedException {
+        AtomicLong sequence = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(options.concurrency());
+        for (int i = 0; i < options.concurrency(); i++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    long next = sequence.getAndIncrement();
+                    RequestTemplate.Compiled template = schedule.get((int) (next % schedule.size()));
+                    HttpRequest request = template.request(sessions.get((int) (next % sessions.size())));
+                    long start = System.nanoTime();
+                    LoadStats templateStats = start >= measureStart && start < end
+                            ? stats.get(template.template().name())
+                            : null;
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (templateStats != null) {
+                            templateStats.completed(response.statusCode(), System.nanoTime() - start);
+                        }
+                    } catch (IOException e) {
+                        if (templateStats != null) {
+                            templateStats.failed(e);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(options.warmup().plus(options.duration()).toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void runFixedRate(List<String> sessions, long measureStart, long end) throws InterruptedException {
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        AtomicLong inFlight = new AtomicLong();
+        for (long next = 0; ; next++) {
+            long intendedStart = start + next * interval;
+            if (intendedStart >= end) {
+                break;
+            }
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            RequestTemplate.Compiled template = schedule.get((int) (next % schedule.size()));
+            LoadStats templateStats = intendedStart >= measureStart ? stats.get(template.template().name()) : null;
+            inFlight.incrementAndGet();
+            client.sendAsync(template.request(sessions.get((int) (next % sessions.size()))),
+                    HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                if (templateStats != null) {
+                    if (error != null) {
+                        templateStats.failed(error.getCause() != null ? error.getCause() : error);
+                    } else {
+                        templateStats.completed(response.statusCode(), System.nanoTime() - intendedStart);
+                    }
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void print(LoadReport report) {
+        System.out.printf("%-24s %10s %10s %8s %10s %10s %10s%n",
+                "request", "count", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        Map<String, LoadReport.Result> rows = new LinkedHashMap<>(report.requests());
+        rows.put("total", report.total());
+        rows.forEach((name, result) -> System.out.printf("%-24s %10d %10.1f %8d %10.2f %10.2f %10.2f%n",
+                name, result.count(), result.throughput(), result.errors(), result.latencyMillis().p50(),
+                result.latencyMillis().p99(), result.latencyMillis().max()));
+    }
+
+    /**
+     * Options of a run, given as {@code --name=value} arguments.
+     *
+     * @param templates   the JSON lines file of request templates, or null for the classpath default.
+     * @param url         the base URL of a running application, or null to boot one on a random port.
+     * @param mode        {@code closed} for closed-loop clients or {@code rate} for a fixed request rate.
+     * @param concurrency the number of closed-loop clients.
+     * @param rate        the requests per second of the fixed-rate mode.
+     * @param warmup      the time before requests are recorded.
+     * @param duration    the measured time.
+     * @param sessions    the number of sessions initialized before the run.
+     * @param sessionPath the path that initializes a session.
+     * @param report      the file the JSON report is written to.
+     */
+    record Options(Path templates, URI url, String mode, int concurrency, int rate, Duration warmup,
+                   Duration duration, int sessions, String sessionPath, Path report) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+                }
+                String value = arg.substring(separator + 1);
+                if (!value.isEmpty()) {
+                    values.put(arg.substring(2, separator), value);
+                }
+            }
+            String mode = values.getOrDefault("mode", "closed");
+            if (!"closed".equals(mode) && !"rate".equals(mode)) {
+                throw new IllegalArgumentException("Unknown mode '" + mode + "', expected closed or rate");
+            }
+            Options options = new Options(
+                    values.containsKey("templates") ? Path.of(values.get("templates")) : null,
+                    values.containsKey("url") ? URI.create(values.get("url")) : null,
+                    mode,
+                    Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                    Integer.parseInt(values.getOrDefault("rate", "500")),
+                    DurationStyle.detectAndParse(values.getOrDefault("warmup", "5s")),
+                    DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                    Integer.parseInt(values.getOrDefault("sessions", "16")),
+                    values.getOrDefault("session-path", "/init-session"),
+                    Path.of(values.getOrDefault("report", "target/loadtest-report.json")));
+            if (options.concurrency() < 1 || options.rate() < 1 || options.sessions() < 1) {
+                throw new IllegalArgumentException("concurrency, rate and sessions must be positive");
+            }
+            return options;
+        }
+    }
+}
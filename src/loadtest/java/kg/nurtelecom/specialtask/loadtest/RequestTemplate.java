@@ -0,0 +1,191 @@
+package kg.nurtelecom.specialtask.loadtest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Request replayed by {@link LoadTest}, read from one line of a JSON lines file.
+ * <p>
+ * A template with form fields or files is sent as {@code multipart/form-data}; file contents are generated once
+ * from a fixed seed, so every run sends the same bytes. Otherwise {@code body} is sent as is with
+ * {@code contentType}. Templates with {@code session} set carry the cookies of a session created through
+ * {@code /init-session} before the run.
+ * </p>
+ *
+ * @param name        the name the results are reported under.
+ * @param method      the HTTP method, {@code POST} if absent.
+ * @param path        the path including path variables, for example {@code /create/10}.
+ * @param query       the query parameters.
+ * @param headers     the request headers.
+ * @param cookies     the cookies sent besides the session cookies.
+ * @param form        the multipart form fields.
+ * @param files       the multipart files by part name.
+ * @param body        the raw body of a non-multipart request.
+ * @param contentType the content type of the raw body.
+ * @param session     whether the request carries the cookies of an initialized session.
+ * @param weight      how many times the template is sent relative to the other templates, 1 if absent.
+ */
+record RequestTemplate(
+        String name,
+        String method,
+        String path,
+        Map<String, String> query,
+        Map<String, String> headers,
+        Map<String, String> cookies,
+        Map<String, String> form,
+        Map<String, FileTemplate> files,
+        String body,
+        String contentType,
+        boolean session,
+        Integer weight
+) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private static final String BOUNDARY = "loadtest-boundary";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Reads the templates of a JSON lines file, skipping blank lines.
+     *
+     * @param reader the reader of the file.
+     * @return the templates in file order.
+     * @throws IOException if the file cannot be read or a line is not a valid template.
+     */
+    static List<RequestTemplate> read(BufferedReader reader) throws IOException {
+        List<RequestTemplate> templates = new ArrayList<>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (!line.isBlank()) {
+                RequestTemplate template = OBJECT_MAPPER.readValue(line, RequestTemplate.class);
+                if (template.name() == null || template.path() == null) {
+                    throw new IOException("Request template needs a name and a path: " + line);
+                }
+                templates.add(template);
+            }
+        }
+        if (templates.isEmpty()) {
+            throw new IOException("No request templates found");
+        }
+        return templates;
+    }
+
+    /**
+     * Compiles the template into a request factory for the given server.
+     *
+     * @param baseUri the URI of the server under test.
+     * @return the factory creating the requests of this template.
+     */
+    Compiled compile(URI baseUri) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromUri(baseUri).path(path);
+        if (query != null) {
+            query.forEach(uri::queryParam);
+        }
+        byte[] content = new byte[0];
+        String type = contentType;
+        if (form != null || files != null) {
+            content = multipartBody();
+            type = "multipart/form-data; boundary=" + BOUNDARY;
+        } else if (body != null) {
+            content = body.getBytes(StandardCharsets.UTF_8);
+        }
+        StringJoiner cookieHeader = new StringJoiner("; ");
+        if (cookies != null) {
+            cookies.forEach((cookie, value) -> cookieHeader.add(cookie + "=" + value));
+        }
+        return new Compiled(this, uri.build().encode().toUri(), content, type, cookieHeader.toString());
+    }
+
+    private byte[] multipartBody() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (form != null) {
+            form.forEach((field, value) -> write(out, "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\""
+                    + field + "\"\r\n\r\n" + value + "\r\n"));
+        }
+        if (files != null) {
+            Random random = new Random(name.hashCode());
+            files.forEach((field, file) -> {
+                byte[] fileContent = new byte[Math.toIntExact(DataSize.parse(file.size()).toBytes())];
+                random.nextBytes(fileContent);
+                write(out, "--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + field
+                        + "\"; filename=\"" + file.filename() + "\"\r\nContent-Type: "
+                        + (file.contentType() != null ? file.contentType() : "application/octet-stream")
+                        + "\r\n\r\n");
+                out.writeBytes(fileContent);
+                write(out, "\r\n");
+            });
+        }
+        write(out, "--" + BOUNDARY + "--\r\n");
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Multipart file generated for a template.
+     *
+     * @param filename    the file name sent with the part.
+     * @param size        the size of the generated content, for example {@code 64KB}.
+     * @param contentType the content type of the part, {@code application/octet-stream} if absent.
+     */
+    record FileTemplate(String filename, String size, String contentType) {}
+
+    /**
+     * Template resolved against the server under test, with its body generated.
+     *
+     * @param template the source template.
+     * @param uri      the request URI.
+     * @param content  the request body.
+     * @param type     the content type of the body, or null if it has none.
+     * @param cookies  the Cookie header of the template cookies, empty if there are none.
+     */
+    record Compiled(RequestTemplate template, URI uri, byte[] content, String type, String cookies) {
+
+        /**
+         * Creates a request of this template.
+         *
+         * @param sessionCookies the cookies of the session to send, or null for none.
+         * @return the request.
+         */
+        HttpRequest request(String sessionCookies) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(TIMEOUT)
+                    .method(template.method() != null ? template.method() : "POST",
+                            content.length > 0
+                                    ? HttpRequest.BodyPublishers.ofByteArray(content)
+                                    : HttpRequest.BodyPublishers.noBody());
+            if (type != null) {
+                request.header("Content-Type", type);
+            }
+            if (template.headers() != null) {
+                template.headers().forEach(request::header);
+            }
+            StringJoiner cookieHeader = new StringJoiner("; ");
+            if (!cookies.isEmpty()) {
+                cookieHeader.add(cookies);
+            }
+            if (template.session() && sessionCookies != null) {
+                cookieHeader.add(sessionCookies);
+            }
+            if (cookieHeader.length() > 0) {
+                request.header("Cookie", cookieHeader.toString());
+            }
+            return request.build();
+        }
+    }
+}
@@ -16,12 +16,31 @@ import java.lang.annotation.Target;
  * <p>By default, {@link TypeOfDataRequest#BODY} is used, meaning
  * the data will be extracted from the request body.</p>
  *
+ * <p>Values are required by default. A missing optional value binds {@link #defaultValue()}, or null
+ * (zero for primitives) when no default is given, without being reported as a binding error.</p>
+ *
  * @see TypeOfDataRequest
  */
 
 @Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface RequestType {
+
+    /**
+     * The {@link #defaultValue()} of a field without default, a value no request would send.
+     */
+    String NO_DEFAULT = "\n\t\t\n\t\t\n\uE000\uE001\uE002\n\t\t\t\t\n";
+
     TypeOfDataRequest value() default TypeOfDataRequest.BODY;
     String key() default "";
+
+    /**
+     * Whether the value must be present in the request. Setting a {@link #defaultValue()} implies false.
+     */
+    boolean required() default true;
+
+    /**
+     * The value used when the request value is missing, converted like a request value.
+     */
+    String defaultValue() default NO_DEFAULT;
 }
@@ -0,0 +1,20 @@
+package kg.nurtelecom.specialtask.annotation.attribute;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the attribute cache shared between requests, bound from the
+ * {@code binding.attributes.cache.*} properties.
+ *
+ * @param maxEntries the maximum number of cached values; the least recently used are evicted first.
+ *                   Zero disables the shared cache.
+ * @param ttl        how long a cached value is reused after it was computed.
+ */
+@ConfigurationProperties("binding.attributes.cache")
+public record AttributeCacheProperties(
+        @DefaultValue("1000") int maxEntries,
+        @DefaultValue("5m") Duration ttl
+) {}
@@ -0,0 +1,46 @@
+package kg.nurtelecom.specialtask.annotation.attribute;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.lang.Nullable;
+
+/**
+ * Computes the value of an {@link kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest#ATTRIBUTE} key
+ * that was not set on the request.
+ * <p>
+ * Providers are registered as beans and looked up by {@link #key()} through {@link AttributeProviders}.
+ * A provider is only invoked when a binding plan asks for its key, at most once per request. A provider whose
+ * value depends on a few request inputs only, such as a tenant header or a user id cookie, returns them from
+ * {@link #cacheKey(HttpServletRequest)}, and its values are then shared between requests with the same inputs.
+ * </p>
+ */
+public interface AttributeProvider {
+
+    /**
+     * Returns the attribute key this provider computes.
+     *
+     * @return the key, as declared by {@code @RequestType(value = ATTRIBUTE, key = ...)}.
+     */
+    String key();
+
+    /**
+     * Computes the attribute value of a request.
+     *
+     * @param request the current request.
+     * @return the value, or null if the request has none.
+     * @throws Exception if the value cannot be computed; the binding fails with this exception.
+     */
+    @Nullable
+    Object compute(HttpServletRequest request) throws Exception;
+
+    /**
+     * Returns the request inputs the value is computed from, used as the key of the cache shared between
+     * requests. Equal inputs must yield equal values for as long as {@code binding.attributes.cache.ttl}.
+     *
+     * @param request the current request.
+     * @return the inputs, or null to compute the value for every request, which is the default.
+     */
+    @Nullable
+    default Object cacheKey(HttpServletRequest request) {
+        return null;
+    }
+}
@@ -0,0 +1,140 @@
+package kg.nurtelecom.specialtask.annotation.attribute;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the {@link AttributeProvider}s, resolving ATTRIBUTE values that were not set on the request.
+ * <p>
+ * An attribute set on the request, for example by a filter, always wins. Otherwise the provider registered
+ * for the key computes the value, which is memoized for the rest of the request, so several fields or
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.BindRequest} parameters with the same key share one
+ * computation. Keys no binding asks for are never computed.
+ * </p>
+ * <p>
+ * Values of providers with a {@link AttributeProvider#cacheKey(HttpServletRequest) cache key} are also kept in
+ * a cache shared between requests, bounded by {@code binding.attributes.cache.max-entries} and expiring after
+ * {@code binding.attributes.cache.ttl}. The cache does not block: two requests missing the same entry at the
+ * same time both compute it.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(AttributeCacheProperties.class)
+public class AttributeProviders {
+
+    private static final String MEMO_ATTRIBUTE = AttributeProviders.class.getName() + ".MEMO";
+    private static final Object NULL = new Object();
+
+    private final Map<String, AttributeProvider> providers = new HashMap<>();
+    private final Map<CacheKey, Cached> cache;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    /**
+     * Constructs a new AttributeProviders of all provider beans.
+     *
+     * @param providers  the provider beans.
+     * @param properties the shared cache configuration.
+     * @throws IllegalStateException if two providers are registered for the same key.
+     */
+    @Autowired
+    public AttributeProviders(ObjectProvider<AttributeProvider> providers, AttributeCacheProperties properties) {
+        this(providers.orderedStream().toList(), properties, Clock.systemUTC());
+    }
+
+    AttributeProviders(List<AttributeProvider> providers, AttributeCacheProperties properties, Clock clock) {
+        for (AttributeProvider provider : providers) {
+            AttributeProvider previous = this.providers.putIfAbsent(provider.key(), provider);
+            if (previous != null) {
+                throw new IllegalStateException("Attribute '" + provider.key() + "' is provided by both "
+                        + previous.getClass().getName() + " and " + provider.getClass().getName());
+            }
+        }
+        int maxEntries = properties.maxEntries();
+        this.cache = maxEntries > 0
+                ? Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<CacheKey, Cached> eldest) {
+                        return size() > maxEntries;
+                    }
+                })
+                : null;
+        this.ttlMillis = properties.ttl().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether a provider is registered for a key.
+     *
+     * @param key the attribute key.
+     * @return true if the key is computed when it is not set on the request.
+     */
+    public boolean provides(String key) {
+        return providers.containsKey(key);
+    }
+
+    /**
+     * Returns an attribute of the request, computing it through its provider if it is not set.
+     *
+     * @param request the current request.
+     * @param key     the attribute key.
+     * @return the attribute value, or null if it is neither set nor provided.
+     * @throws Exception if the provider fails to compute the value.
+     */
+    @Nullable
+    public Object resolve(HttpServletRequest request, String key) throws Exception {
+        Object value = request.getAttribute(key);
+        if (value != null) {
+            return value;
+        }
+        AttributeProvider provider = providers.get(key);
+        if (provider == null) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> memo = (Map<String, Object>) request.getAttribute(MEMO_ATTRIBUTE);
+        if (memo == null) {
+            memo = new HashMap<>();
+            request.setAttribute(MEMO_ATTRIBUTE, memo);
+        } else if (memo.containsKey(key)) {
+            Object memoized = memo.get(key);
+            return memoized != NULL ? memoized : null;
+        }
+        value = compute(provider, request);
+        memo.put(key, value != null ? value : NULL);
+        return value;
+    }
+
+    private Object compute(AttributeProvider provider, HttpServletRequest request) throws Exception {
+        Object inputs = cache != null ? provider.cacheKey(request) : null;
+        if (inputs == null) {
+            return provider.compute(request);
+        }
+        CacheKey cacheKey = new CacheKey(provider.key(), inputs);
+        long now = clock.millis();
+        Cached cached = cache.get(cacheKey);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value() != NULL ? cached.value() : null;
+        }
+        Object value = provider.compute(request);
+        cache.put(cacheKey, new Cached(value != null ? value : NULL, now + ttlMillis));
+        return value;
+    }
+
+    private record CacheKey(String attribute, Object inputs) {}
+
+    private record Cached(Object value, long expiresAt) {}
+}
@@ -0,0 +1,34 @@
+package kg.nurtelecom.specialtask.annotation.attribute;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the default value of the attribute "customAttribute" to requests that did not set it.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CustomAttributeProvider implements AttributeProvider {
+
+    /**
+     * Returns the key "customAttribute".
+     *
+     * @return the attribute key.
+     */
+    @Override
+    public String key() {
+        return "customAttribute";
+    }
+
+    /**
+     * Returns the default value of the attribute.
+     *
+     * @param request the current request.
+     * @return "DefaultCustomAttribute".
+     */
+    @Override
+    public Object compute(HttpServletRequest request) {
+        return "DefaultCustomAttribute";
+    }
+}
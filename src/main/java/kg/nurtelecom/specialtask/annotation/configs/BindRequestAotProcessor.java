@@ -0,0 +1,86 @@
+package kg.nurtelecom.specialtask.annotation.configs;
+
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.plan.RequestBinder;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.aot.BeanRegistrationAotContribution;
+import org.springframework.beans.factory.aot.BeanRegistrationAotProcessor;
+import org.springframework.beans.factory.support.RegisteredBean;
+import org.springframework.core.MethodParameter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Registers the reflection hints needed to bind {@link BindRequest} models in a GraalVM native image.
+ * <p>
+ * During AOT processing the methods of every bean are scanned for {@link BindRequest} parameters. The models
+ * are registered for reflective access to their constructors, fields and record components, which the
+ * reflective fallback of {@link kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry} uses.
+ * Binders generated at compile time are registered as well, since they are looked up by name.
+ * Registered through {@code META-INF/spring/aot.factories}; it has no effect on a regular JVM startup.
+ * </p>
+ */
+public class BindRequestAotProcessor implements BeanRegistrationAotProcessor {
+
+    /**
+     * Collects the {@link BindRequest} models of a bean.
+     *
+     * @param registeredBean the bean being processed.
+     * @return the contribution registering the hints, or null if the bean binds no models.
+     */
+    @Override
+    public BeanRegistrationAotContribution processAheadOfTime(RegisteredBean registeredBean) {
+        Set<Class<?>> models = models(ClassUtils.getUserClass(registeredBean.getBeanClass()));
+        if (models.isEmpty()) {
+            return null;
+        }
+        return (generationContext, beanRegistrationCode) ->
+                registerHints(generationContext.getRuntimeHints(), models);
+    }
+
+    /**
+     * Finds the models bound by the {@link BindRequest} parameters of a class.
+     *
+     * @param beanClass the class to scan.
+     * @return the model classes in declaration order.
+     */
+    static Set<Class<?>> models(Class<?> beanClass) {
+        Set<Class<?>> models = new LinkedHashSet<>();
+        ReflectionUtils.doWithMethods(beanClass, method -> {
+            for (int i = 0; i < method.getParameterCount(); i++) {
+                MethodParameter parameter = new MethodParameter(method, i);
+                if (parameter.hasParameterAnnotation(BindRequest.class)) {
+                    Class<?> modelClass = RequestsArgumentResolver.modelClassOf(parameter);
+                    if (modelClass != null) {
+                        models.add(modelClass);
+                    }
+                }
+            }
+        }, ReflectionUtils.USER_DECLARED_METHODS);
+        return models;
+    }
+
+    /**
+     * Registers the reflection hints of the given models and their generated binders.
+     *
+     * @param hints  the hints to add to.
+     * @param models the model classes.
+     */
+    static void registerHints(RuntimeHints hints, Set<Class<?>> models) {
+        for (Class<?> model : models) {
+            hints.reflection().registerType(model, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_METHODS);
+            String binderName = model.getName() + RequestBinder.SUFFIX;
+            if (ClassUtils.isPresent(binderName, model.getClassLoader())) {
+                hints.reflection().registerType(TypeReference.of(binderName),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+        }
+    }
+}
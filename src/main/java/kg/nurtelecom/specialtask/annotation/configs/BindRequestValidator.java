@@ -0,0 +1,167 @@
+package kg.nurtelecom.specialtask.annotation.configs;
+
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlan;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.plan.FieldBinding;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import kg.nurtelecom.specialtask.annotation.resolver.UploadSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UriTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Validates every {@link BindRequest} parameter of the registered handler methods at startup.
+ * <p>
+ * Runs once all singletons are created, before the web server accepts requests. For each parameter the
+ * {@link BindingPlan} of its model is compiled and cached, so a record component without
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.RequestType} or a JavaBean without a no-arg
+ * constructor fails the startup instead of the first request, and the first requests find their plans and
+ * converters ready. In addition, PATH keys must be variables of every URI template of the mapping,
+ * values read as text must be convertible to their target type, and UPLOAD bindings need an {@link UploadSource}.
+ * </p>
+ * <p>
+ * All problems are collected and reported together in one {@link IllegalStateException}.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BindRequestValidator implements SmartInitializingSingleton {
+
+    private static final Logger LOGGER = Logger.getLogger(BindRequestValidator.class.getName());
+
+    /**
+     * Sources whose raw values are strings and go through the converter of the field.
+     */
+    private static final Set<TypeOfDataRequest> TEXT_SOURCES = EnumSet.of(TypeOfDataRequest.HEADER,
+            TypeOfDataRequest.PARAM, TypeOfDataRequest.PATH, TypeOfDataRequest.COOKIE, TypeOfDataRequest.BODY);
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final BindingPlanRegistry bindingPlanRegistry;
+    private final ConversionService conversionService;
+    private final ObjectProvider<UploadSource> uploadSource;
+
+    /**
+     * Constructs a new BindRequestValidator.
+     *
+     * @param handlerMappings     the handler mappings whose methods are validated.
+     * @param bindingPlanRegistry the registry compiling and caching the binding plans.
+     * @param conversionService   the ConversionService used by the converters of the plans.
+     * @param uploadSource        the optional source of finished uploads for UPLOAD bindings.
+     */
+    public BindRequestValidator(ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+                                BindingPlanRegistry bindingPlanRegistry, @Lazy ConversionService conversionService,
+                                ObjectProvider<UploadSource> uploadSource) {
+        this.handlerMappings = handlerMappings;
+        this.bindingPlanRegistry = bindingPlanRegistry;
+        this.conversionService = conversionService;
+        this.uploadSource = uploadSource;
+    }
+
+    /**
+     * Validates all handler methods and fails the startup if any {@link BindRequest} parameter cannot be bound.
+     *
+     * @throws IllegalStateException listing every invalid parameter.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> problems = new ArrayList<>();
+        int parameters = 0;
+        for (RequestMappingHandlerMapping handlerMapping : handlerMappings.orderedStream().toList()) {
+            parameters += validate(handlerMapping.getHandlerMethods(), problems);
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid @BindRequest parameters:\n - " + String.join("\n - ", problems));
+        }
+        LOGGER.log(Level.INFO, "Validated {0} @BindRequest parameters, {1} binding plans are ready",
+                new Object[]{parameters, bindingPlanRegistry.getPlans().size()});
+    }
+
+    /**
+     * Validates the {@link BindRequest} parameters of the given handler methods.
+     *
+     * @param handlerMethods the handler methods by their mapping.
+     * @param problems       the list the found problems are added to.
+     * @return the number of validated parameters.
+     */
+    int validate(Map<RequestMappingInfo, HandlerMethod> handlerMethods, List<String> problems) {
+        int parameters = 0;
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMethods.entrySet()) {
+            for (MethodParameter parameter : entry.getValue().getMethodParameters()) {
+                if (parameter.hasParameterAnnotation(BindRequest.class)) {
+                    parameters++;
+                    String location = entry.getValue().getShortLogMessage() + " parameter "
+                            + parameter.getParameterIndex();
+                    for (String problem : validate(entry.getKey(), parameter)) {
+                        problems.add(location + ": " + problem);
+                    }
+                }
+            }
+        }
+        return parameters;
+    }
+
+    private List<String> validate(RequestMappingInfo mapping, MethodParameter parameter) {
+        Class<?> modelClass = RequestsArgumentResolver.modelClassOf(parameter);
+        if (modelClass == null) {
+            return List.of("missing model type argument for BulkRequest");
+        }
+        BindingPlan plan;
+        try {
+            plan = bindingPlanRegistry.planFor(modelClass);
+        } catch (RuntimeException e) {
+            return List.of(e.getMessage() + (e.getCause() != null ? " (" + e.getCause() + ")" : ""));
+        }
+        List<String> problems = new ArrayList<>();
+        List<Set<String>> templates = uriVariables(mapping);
+        for (FieldBinding field : plan.getFields()) {
+            String name = modelClass.getSimpleName() + "." + field.name();
+            if (field.source() == TypeOfDataRequest.PATH
+                    && templates.stream().anyMatch(variables -> !variables.contains(field.key()))) {
+                problems.add(name + " reads path variable '" + field.key() + "' that is not declared by "
+                        + mapping.getPatternValues());
+            }
+            if (TEXT_SOURCES.contains(field.source()) && !field.targetType().isAssignableFrom(String.class)
+                    && !conversionService.canConvert(String.class, field.targetType())) {
+                problems.add(name + " has no converter from String to " + field.targetType().getName());
+            }
+            if (field.source() == TypeOfDataRequest.UPLOAD && uploadSource.getIfAvailable() == null) {
+                problems.add(name + " is an UPLOAD binding but no UploadSource is configured");
+            }
+        }
+        return problems;
+    }
+
+    /**
+     * Returns the variable names of each URI template of a mapping.
+     */
+    private static List<Set<String>> uriVariables(RequestMappingInfo mapping) {
+        List<Set<String>> templates = new ArrayList<>();
+        for (String pattern : mapping.getPatternValues()) {
+            Set<String> variables = new HashSet<>();
+            for (String variable : new UriTemplate(pattern).getVariableNames()) {
+                variables.add(variable.startsWith("*") ? variable.substring(1) : variable);
+            }
+            templates.add(variables);
+        }
+        return templates;
+    }
+}
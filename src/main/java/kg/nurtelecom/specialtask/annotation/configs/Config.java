@@ -1,9 +1,16 @@
 package kg.nurtelecom.specialtask.annotation.configs;
 
+import kg.nurtelecom.specialtask.annotation.attribute.AttributeProviders;
+import kg.nurtelecom.specialtask.annotation.metrics.BindingMetrics;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.BindingTracer;
+import kg.nurtelecom.specialtask.annotation.resolver.MultipartTargets;
 import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import kg.nurtelecom.specialtask.annotation.resolver.UploadSource;
+import kg.nurtelecom.specialtask.annotation.session.SessionStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.core.convert.ConversionService;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,17 +20,39 @@ import java.util.List;
  * Configuration class for setting up custom argument resolvers in Spring MVC.
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class Config implements WebMvcConfigurer {
 
-    private final ConversionService conversionService;
+    private final BindingPlanRegistry bindingPlanRegistry;
+    private final ObjectProvider<UploadSource> uploadSource;
+    private final BindingTracer bindingTracer;
+    private final ObjectProvider<BindingMetrics> bindingMetrics;
+    private final MultipartTargets multipartTargets;
+    private final SessionStore sessionStore;
+    private final AttributeProviders attributeProviders;
 
     /**
      * Constructor for Config class.
      *
-     * @param conversionService the conversion service used for argument resolution
+     * @param bindingPlanRegistry the registry of binding plans used for argument resolution
+     * @param uploadSource        the optional source of finished uploads for UPLOAD bindings
+     * @param bindingTracer       the sampled trace of bindings
+     * @param bindingMetrics      the optional Micrometer meters of bindings
+     * @param multipartTargets    the adapter of streaming MULTIPART targets
+     * @param sessionStore        the store of SESSION values
+     * @param attributeProviders  the providers of ATTRIBUTE values not set on the request
      */
-    public Config(@Lazy ConversionService conversionService) {
-        this.conversionService = conversionService;
+    public Config(BindingPlanRegistry bindingPlanRegistry, ObjectProvider<UploadSource> uploadSource,
+                  BindingTracer bindingTracer, ObjectProvider<BindingMetrics> bindingMetrics,
+                  MultipartTargets multipartTargets, SessionStore sessionStore,
+                  AttributeProviders attributeProviders) {
+        this.bindingPlanRegistry = bindingPlanRegistry;
+        this.uploadSource = uploadSource;
+        this.bindingTracer = bindingTracer;
+        this.bindingMetrics = bindingMetrics;
+        this.multipartTargets = multipartTargets;
+        this.sessionStore = sessionStore;
+        this.attributeProviders = attributeProviders;
     }
 
     /**
@@ -33,6 +62,13 @@ public class Config implements WebMvcConfigurer {
      */
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
-        resolvers.add(new RequestsArgumentResolver(conversionService));
+        resolvers.add(RequestsArgumentResolver.builder(bindingPlanRegistry)
+                .uploadSource(uploadSource.getIfAvailable())
+                .tracer(bindingTracer)
+                .metrics(bindingMetrics.getIfAvailable())
+                .multipartTargets(multipartTargets)
+                .sessionStore(sessionStore)
+                .attributeProviders(attributeProviders)
+                .build());
     }
 }
@@ -0,0 +1,57 @@
+package kg.nurtelecom.specialtask.annotation.configs;
+
+import kg.nurtelecom.specialtask.annotation.metrics.BindingMetrics;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.reactive.ReactiveRequestsArgumentResolver;
+import kg.nurtelecom.specialtask.annotation.resolver.UploadSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Configuration class for setting up the reactive argument resolver in Spring WebFlux applications.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig implements WebFluxConfigurer {
+
+    private final BindingPlanRegistry bindingPlanRegistry;
+    private final ObjectProvider<UploadSource> uploadSource;
+    private final ObjectProvider<BindingMetrics> bindingMetrics;
+    private final DataSize maxInMemorySize;
+
+    /**
+     * Constructor for ReactiveConfig class.
+     *
+     * @param bindingPlanRegistry the registry of binding plans shared with the servlet stack
+     * @param uploadSource        the optional source of finished uploads for UPLOAD bindings
+     * @param bindingMetrics      the optional Micrometer meters of bindings
+     * @param maxInMemorySize     the limit for a collected body or file part, shared with the WebFlux codecs
+     */
+    public ReactiveConfig(BindingPlanRegistry bindingPlanRegistry, ObjectProvider<UploadSource> uploadSource,
+                          ObjectProvider<BindingMetrics> bindingMetrics,
+                          @Value("${spring.codec.max-in-memory-size:256KB}") DataSize maxInMemorySize) {
+        this.bindingPlanRegistry = bindingPlanRegistry;
+        this.uploadSource = uploadSource;
+        this.bindingMetrics = bindingMetrics;
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    /**
+     * Adds the reactive argument resolver to the WebFlux configuration.
+     *
+     * @param configurer the configurer to which the custom resolver is added
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(ReactiveRequestsArgumentResolver.builder(bindingPlanRegistry)
+                .uploadSource(uploadSource.getIfAvailable())
+                .metrics(bindingMetrics.getIfAvailable())
+                .maxInMemorySize(Math.toIntExact(maxInMemorySize.toBytes()))
+                .build());
+    }
+}
@@ -44,5 +44,12 @@ public enum TypeOfDataRequest {
     /**
      * Represents data from multipart/form-data requests (e.g., file uploads).
      */
-    MULTIPART
+    MULTIPART,
+
+    /**
+     * Represents a finished chunked upload. The key names the path variable or request parameter
+     * that carries the upload id, the value is the handle returned by the
+     * {@link kg.nurtelecom.specialtask.annotation.resolver.UploadSource}.
+     */
+    UPLOAD
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package kg.nurtelecom.specialtask.annotation.metrics;
+
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlan;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.plan.FieldBinding;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/binding} listing the compiled binding plans. The binding meters themselves
+ * are exposed through the {@code metrics} endpoint, see {@link BindingMetrics}.
+ */
+@Component
+@Endpoint(id = "binding")
+public class BindingEndpoint {
+
+    private final BindingPlanRegistry bindingPlanRegistry;
+
+    /**
+     * Constructs a new BindingEndpoint.
+     *
+     * @param bindingPlanRegistry the registry holding the compiled plans.
+     */
+    public BindingEndpoint(BindingPlanRegistry bindingPlanRegistry) {
+        this.bindingPlanRegistry = bindingPlanRegistry;
+    }
+
+    /**
+     * Lists the compiled binding plans.
+     *
+     * @return the plans ordered by model class name.
+     */
+    @ReadOperation
+    public List<PlanDescription> plans() {
+        return bindingPlanRegistry.getPlans().stream()
+                .map(PlanDescription::of)
+                .sorted(Comparator.comparing(PlanDescription::model))
+                .toList();
+    }
+
+    /**
+     * Description of a binding plan.
+     *
+     * @param model     the model class name.
+     * @param generated whether the model is created by a binder generated at compile time.
+     * @param fields    the bound fields.
+     */
+    public record PlanDescription(String model, boolean generated, List<FieldDescription> fields) {
+
+        static PlanDescription of(BindingPlan plan) {
+            return new PlanDescription(plan.getModelClass().getName(), plan.isGenerated(),
+                    plan.getFields().stream().map(FieldDescription::of).toList());
+        }
+    }
+
+    /**
+     * Description of a bound field.
+     *
+     * @param name   the field name.
+     * @param source the source of the value.
+     * @param key    the key of the value in the source.
+     * @param type   the type of the bound value.
+     * @param lazy   whether the value is resolved on first access.
+     */
+    public record FieldDescription(String name, String source, String key, String type, boolean lazy) {
+
+        static FieldDescription of(FieldBinding field) {
+            return new FieldDescription(field.name(), field.source().name(), field.key(), field.targetType().getName(),
+                    field.lazy());
+        }
+    }
+}
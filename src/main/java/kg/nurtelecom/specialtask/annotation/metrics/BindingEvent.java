@@ -0,0 +1,35 @@
+package kg.nurtelecom.specialtask.annotation.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every {@code @BindRequest} resolution, so binding stalls can be correlated with GC
+ * and I/O in flight recordings. The event is only committed when it is enabled in the recording and exceeds
+ * its threshold; otherwise creating it is optimized away by the JIT.
+ */
+@Name("kg.nurtelecom.specialtask.Binding")
+@Label("Request Binding")
+@Category({"Special Task", "Binding"})
+@Description("Resolution of a @BindRequest argument")
+@StackTrace(false)
+public final class BindingEvent extends Event {
+
+    @Label("Model")
+    public String model;
+
+    @Label("Fields")
+    public int fields;
+
+    @Label("Body Bytes")
+    @DataAmount
+    public long bodyBytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,52 @@
+package kg.nurtelecom.specialtask.annotation.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlan;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer meters of {@link kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver}.
+ * <p>
+ * Meters are registered once per binding plan and cached, so recording a binding does not build tags or look up
+ * meters in the registry. The following meters are published, all tagged with the {@code model} class:
+ * </p>
+ * <ul>
+ *     <li>{@code binding.resolve} - time to resolve a {@code @BindRequest} argument</li>
+ *     <li>{@code binding.body.parse} - time to select the BODY keys from a JSON body</li>
+ *     <li>{@code binding.body.size} - bytes of the JSON body read while selecting BODY keys</li>
+ *     <li>{@code binding.conversion.failures} - values that could not be converted, also tagged by {@code source}</li>
+ *     <li>{@code binding.missing.values} - values that were not found, also tagged by {@code source}</li>
+ * </ul>
+ */
+@Component
+public class BindingMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, ModelMeters> meters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new BindingMetrics.
+     *
+     * @param registry the registry the meters are published to.
+     */
+    public BindingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Returns the meters of a binding plan, registering them on first use.
+     *
+     * @param plan the binding plan.
+     * @return the cached meters of the plan's model class.
+     */
+    public ModelMeters forPlan(BindingPlan plan) {
+        ModelMeters modelMeters = meters.get(plan.getModelClass());
+        if (modelMeters == null) {
+            modelMeters = meters.computeIfAbsent(plan.getModelClass(), model -> new ModelMeters(registry, plan));
+        }
+        return modelMeters;
+    }
+}
@@ -0,0 +1,94 @@
+package kg.nurtelecom.specialtask.annotation.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlan;
+import kg.nurtelecom.specialtask.annotation.plan.FieldBinding;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of a single model class, see {@link BindingMetrics}. Error counters exist only for the sources
+ * the model actually binds.
+ */
+public final class ModelMeters {
+
+    private final Timer resolve;
+    private final Timer bodyParse;
+    private final DistributionSummary bodySize;
+    private final Map<TypeOfDataRequest, Counter> conversionFailures = new EnumMap<>(TypeOfDataRequest.class);
+    private final Map<TypeOfDataRequest, Counter> missingValues = new EnumMap<>(TypeOfDataRequest.class);
+
+    ModelMeters(MeterRegistry registry, BindingPlan plan) {
+        String model = plan.getModelClass().getName();
+        this.resolve = Timer.builder("binding.resolve")
+                .description("Time to resolve a @BindRequest argument")
+                .tag("model", model)
+                .register(registry);
+        this.bodyParse = Timer.builder("binding.body.parse")
+                .description("Time to select the BODY keys from a JSON body")
+                .tag("model", model)
+                .register(registry);
+        this.bodySize = DistributionSummary.builder("binding.body.size")
+                .description("Bytes of the JSON body read while selecting BODY keys")
+                .baseUnit("bytes")
+                .tag("model", model)
+                .register(registry);
+        for (FieldBinding field : plan.getFields()) {
+            TypeOfDataRequest source = field.source();
+            if (!missingValues.containsKey(source)) {
+                conversionFailures.put(source, Counter.builder("binding.conversion.failures")
+                        .description("Values that could not be converted to the declared type")
+                        .tags("model", model, "source", source.name())
+                        .register(registry));
+                missingValues.put(source, Counter.builder("binding.missing.values")
+                        .description("Values that were not found in the request")
+                        .tags("model", model, "source", source.name())
+                        .register(registry));
+            }
+        }
+    }
+
+    /**
+     * Records the time of a resolved or failed binding.
+     *
+     * @param nanos the binding time in nanoseconds.
+     */
+    public void resolved(long nanos) {
+        resolve.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a JSON body read to select the BODY keys.
+     *
+     * @param nanos the time spent selecting the keys in nanoseconds.
+     * @param bytes the number of body bytes read.
+     */
+    public void bodyParsed(long nanos, long bytes) {
+        bodyParse.record(nanos, TimeUnit.NANOSECONDS);
+        bodySize.record(bytes);
+    }
+
+    /**
+     * Counts a value that could not be converted.
+     *
+     * @param source the source of the value.
+     */
+    public void conversionFailed(TypeOfDataRequest source) {
+        conversionFailures.get(source).increment();
+    }
+
+    /**
+     * Counts a value that was not found.
+     *
+     * @param source the source of the value.
+     */
+    public void valueMissing(TypeOfDataRequest source) {
+        missingValues.get(source).increment();
+    }
+}
@@ -0,0 +1,103 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+
+import java.util.List;
+
+/**
+ * Precompiled binding plan for a model class used with
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.BindRequest}.
+ * <p>
+ * A plan is built once per model class by {@link BindingPlanRegistry} and then reused for every request.
+ * It keeps the ordered list of {@link FieldBinding}s and the {@link ModelFactory} used to create the model,
+ * so binding a request does not perform any reflective lookups.
+ * </p>
+ * <p>
+ * The factory is the compile-time generated {@link RequestBinder} of the model when one exists,
+ * otherwise a method-handle based factory built by {@link BindingPlanRegistry}.
+ * </p>
+ */
+public final class BindingPlan {
+
+    private final Class<?> modelClass;
+    private final List<FieldBinding> fields;
+    private final ModelFactory factory;
+    private final JsonBodySelector bodySelector;
+    private final boolean bodyLazy;
+
+    /**
+     * Creates a plan.
+     *
+     * @param modelClass the record or JavaBean class.
+     * @param fields     the bindings in the order expected by the factory.
+     * @param factory    the factory creating the model from the resolved values.
+     */
+    BindingPlan(Class<?> modelClass, List<FieldBinding> fields, ModelFactory factory) {
+        this.modelClass = modelClass;
+        this.fields = List.copyOf(fields);
+        this.factory = factory;
+        List<String> bodyKeys = fields.stream()
+                .filter(field -> field.source() == TypeOfDataRequest.BODY)
+                .map(FieldBinding::key)
+                .toList();
+        this.bodySelector = bodyKeys.isEmpty() ? null : new JsonBodySelector(bodyKeys);
+        this.bodyLazy = fields.stream()
+                .noneMatch(field -> field.source() == TypeOfDataRequest.BODY && !field.lazy());
+    }
+
+    /**
+     * Returns the model class this plan binds.
+     *
+     * @return the model class.
+     */
+    public Class<?> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Returns the field bindings of the model in the order expected by {@link #instantiate(Object[])}.
+     *
+     * @return an immutable list of field bindings.
+     */
+    public List<FieldBinding> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the streaming selector for the BODY keys of the model.
+     *
+     * @return the body selector, or null if the model has no BODY bindings.
+     */
+    public JsonBodySelector getBodySelector() {
+        return bodySelector;
+    }
+
+    /**
+     * Returns whether the body is only read on first access of a lazy field, because no BODY binding is eager.
+     *
+     * @return true if the body is not read while the model is created.
+     */
+    public boolean isBodyLazy() {
+        return bodyLazy;
+    }
+
+    /**
+     * Creates the model instance from the resolved values.
+     *
+     * @param values the converted values, aligned with {@link #getFields()}.
+     * @return the bound model instance.
+     * @throws Exception if the model cannot be created.
+     */
+    public Object instantiate(Object[] values) throws Exception {
+        return factory.create(values);
+    }
+
+    /**
+     * Returns whether the model is created by a binder generated at compile time.
+     *
+     * @return true if a {@link RequestBinder} is used, false if the model is created through method handles.
+     */
+    public boolean isGenerated() {
+        return factory instanceof RequestBinder;
+    }
+}
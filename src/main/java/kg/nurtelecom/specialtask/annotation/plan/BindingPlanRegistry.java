@@ -0,0 +1,204 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Builds and caches {@link BindingPlan}s per model class.
+ * <p>
+ * When the model has a {@link RequestBinder} generated at compile time, its metadata and factory are used
+ * as they are. Otherwise all reflective work (reading {@link RequestType} annotations, looking up
+ * constructors and fields) happens once, when a model class is bound for the first time.
+ * Converters and default values are resolved in both cases, with fast paths for common types
+ * (see {@link ValueConverters}). A field declared as {@link Supplier Supplier&lt;T&gt;} is bound lazily,
+ * its converter targets {@code T}.
+ * Subsequent requests reuse the cached plan.
+ * </p>
+ */
+@Component
+public class BindingPlanRegistry {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType BEAN_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final ConversionService conversionService;
+    private final Map<Class<?>, BindingPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new BindingPlanRegistry.
+     *
+     * @param conversionService the ConversionService used by the converters of the compiled plans.
+     */
+    public BindingPlanRegistry(@Lazy ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * Returns the binding plan for the given model class, compiling it on first use.
+     *
+     * @param modelClass the record or JavaBean class to bind.
+     * @return the cached binding plan.
+     * @throws IllegalStateException if the model class cannot be bound.
+     */
+    public BindingPlan planFor(Class<?> modelClass) {
+        BindingPlan plan = plans.get(modelClass);
+        if (plan == null) {
+            plan = plans.computeIfAbsent(modelClass, this::compile);
+        }
+        return plan;
+    }
+
+    /**
+     * Returns the binding plans compiled so far.
+     *
+     * @return an unmodifiable view of the cached plans.
+     */
+    public Collection<BindingPlan> getPlans() {
+        return Collections.unmodifiableCollection(plans.values());
+    }
+
+    private BindingPlan compile(Class<?> modelClass) {
+        RequestBinder<?> binder = generatedBinder(modelClass);
+        if (binder != null) {
+            List<FieldBinding> fields = new ArrayList<>(binder.fields().size());
+            for (FieldDescriptor descriptor : binder.fields()) {
+                fields.add(binding(descriptor.name(), descriptor.source(), descriptor.key(), descriptor.type(),
+                        descriptor.required(), descriptor.defaultValue(), descriptor.lazy()));
+            }
+            return new BindingPlan(modelClass, fields, binder);
+        }
+        try {
+            if (modelClass.isRecord()) {
+                return compileRecord(modelClass);
+            }
+            return compileBean(modelClass);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Failed to compile binding plan for " + modelClass.getName(), e);
+        }
+    }
+
+    private BindingPlan compileRecord(Class<?> modelClass) throws NoSuchMethodException, IllegalAccessException {
+        RecordComponent[] components = modelClass.getRecordComponents();
+        List<FieldBinding> fields = new ArrayList<>(components.length);
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            RequestType requestType = components[i].getAnnotation(RequestType.class);
+            if (requestType == null) {
+                throw new IllegalStateException("Missing @RequestType annotation for record component: "
+                        + components[i].getName());
+            }
+            parameterTypes[i] = components[i].getType();
+            fields.add(binding(components[i].getName(), requestType,
+                    ResolvableType.forType(components[i].getGenericType())));
+        }
+        Constructor<?> canonicalConstructor = modelClass.getDeclaredConstructor(parameterTypes);
+        canonicalConstructor.setAccessible(true);
+        MethodHandle constructor = LOOKUP.unreflectConstructor(canonicalConstructor)
+                .asType(MethodType.genericMethodType(components.length))
+                .asSpreader(Object[].class, components.length);
+        return new BindingPlan(modelClass, fields, new MethodHandleModelFactory(modelClass, constructor));
+    }
+
+    private BindingPlan compileBean(Class<?> modelClass) throws NoSuchMethodException, IllegalAccessException {
+        Constructor<?> noArgConstructor = modelClass.getDeclaredConstructor();
+        noArgConstructor.setAccessible(true);
+        MethodHandle constructor = LOOKUP.unreflectConstructor(noArgConstructor).asType(BEAN_CONSTRUCTOR_TYPE);
+        List<FieldBinding> fields = new ArrayList<>();
+        List<MethodHandle> setters = new ArrayList<>();
+        for (Field field : modelClass.getDeclaredFields()) {
+            RequestType requestType = field.getAnnotation(RequestType.class);
+            if (requestType != null) {
+                field.setAccessible(true);
+                fields.add(binding(field.getName(), requestType, ResolvableType.forField(field)));
+                setters.add(LOOKUP.unreflectSetter(field).asType(SETTER_TYPE));
+            }
+        }
+        return new BindingPlan(modelClass, fields,
+                new MethodHandleModelFactory(modelClass, constructor, setters.toArray(new MethodHandle[0])));
+    }
+
+    /**
+     * Looks up the binder generated by
+     * {@link kg.nurtelecom.specialtask.annotation.processor.RequestBinderProcessor} for a model class.
+     *
+     * @param modelClass the model class.
+     * @return the generated binder, or null if the model was not processed at compile time.
+     */
+    private static RequestBinder<?> generatedBinder(Class<?> modelClass) {
+        String binderName = modelClass.getName() + RequestBinder.SUFFIX;
+        if (!ClassUtils.isPresent(binderName, modelClass.getClassLoader())) {
+            return null;
+        }
+        try {
+            Class<?> binderClass = ClassUtils.forName(binderName, modelClass.getClassLoader());
+            return (RequestBinder<?>) binderClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            throw new IllegalStateException("Failed to instantiate generated binder " + binderName, e);
+        }
+    }
+
+    private FieldBinding binding(String name, RequestType requestType, ResolvableType declaredType) {
+        boolean lazy = declaredType.toClass() == Supplier.class;
+        Class<?> targetType = lazy ? declaredType.getGeneric(0).toClass() : declaredType.toClass();
+        return binding(name, requestType.value(), requestType.key(), targetType, requestType.required(),
+                requestType.defaultValue(), lazy);
+    }
+
+    private FieldBinding binding(String name, TypeOfDataRequest source, String key, Class<?> targetType,
+                                 boolean required, String defaultValue, boolean lazy) {
+        ValueConverter converter = converterFor(targetType);
+        boolean hasDefault = defaultValue != null && !RequestType.NO_DEFAULT.equals(defaultValue);
+        Object fallback = null;
+        if (hasDefault) {
+            try {
+                fallback = converter.convert(defaultValue);
+            } catch (Exception e) {
+                throw invalidDefault(name, defaultValue, targetType, e);
+            }
+            if (fallback == ValueConverter.INVALID) {
+                throw invalidDefault(name, defaultValue, targetType, null);
+            }
+        }
+        if (fallback == null && targetType.isPrimitive()) {
+            fallback = Array.get(Array.newInstance(targetType, 1), 0);
+        }
+        return new FieldBinding(name, source, key, targetType, converter, required && !hasDefault, fallback, lazy);
+    }
+
+    private static IllegalStateException invalidDefault(String name, String defaultValue, Class<?> targetType,
+                                                        Exception cause) {
+        return new IllegalStateException("Invalid default value '" + defaultValue + "' for field " + name
+                + " of type " + targetType.getName(), cause);
+    }
+
+    /**
+     * Resolves the converter for a target type, see {@link ValueConverters}.
+     *
+     * @param targetType the declared type of the field.
+     * @return the converter for the target type.
+     */
+    private ValueConverter converterFor(Class<?> targetType) {
+        return ValueConverters.forType(targetType, conversionService);
+    }
+}
@@ -0,0 +1,30 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+
+/**
+ * Precompiled description of a single record component or field annotated with {@link RequestType}.
+ * Holds everything that is needed to read and convert its value without touching reflection again.
+ *
+ * @param name         the name of the record component or field.
+ * @param source       the source from which the value is read.
+ * @param key          the key identifying the value in the source.
+ * @param targetType   the type of the bound value: the declared type of the record component or field,
+ *                     or the type argument of a lazy {@link java.util.function.Supplier} field.
+ * @param converter    the converter resolved for the target type.
+ * @param required     whether a missing value is a binding error.
+ * @param defaultValue the converted value bound when an optional value is missing; null if there is none,
+ *                     or the zero value for primitive types.
+ * @param lazy         whether the field is declared as {@code Supplier<T>} and resolved on first access.
+ */
+public record FieldBinding(
+        String name,
+        TypeOfDataRequest source,
+        String key,
+        Class<?> targetType,
+        ValueConverter converter,
+        boolean required,
+        Object defaultValue,
+        boolean lazy
+) {}
@@ -0,0 +1,27 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+
+/**
+ * Static description of a field annotated with
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.RequestType}, as emitted by a generated
+ * {@link RequestBinder}.
+ *
+ * @param name         the name of the record component or field.
+ * @param source       the source from which the value is read.
+ * @param key          the key identifying the value in the source.
+ * @param type         the (erased) type of the bound value: the declared type of the record component or field,
+ *                     or the type argument of a lazy {@code Supplier} field.
+ * @param required     whether the value must be present in the request.
+ * @param defaultValue the declared default value, or null if there is none.
+ * @param lazy         whether the field is declared as {@code Supplier<T>} and resolved on first access.
+ */
+public record FieldDescriptor(
+        String name,
+        TypeOfDataRequest source,
+        String key,
+        Class<?> type,
+        boolean required,
+        String defaultValue,
+        boolean lazy
+) {}
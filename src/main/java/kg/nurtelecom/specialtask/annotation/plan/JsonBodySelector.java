@@ -0,0 +1,171 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming extractor for the {@link kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest#BODY} keys
+ * of a {@link BindingPlan}.
+ * <p>
+ * Instead of materializing the whole JSON document, the body is walked token by token with a Jackson
+ * {@link JsonParser}. Only the branches that lead to a requested key are entered, everything else is skipped,
+ * and reading stops as soon as every key has been found. Memory per request therefore depends on the size
+ * of the selected values, not on the size of the body.
+ * </p>
+ * <p>
+ * A key is either a top-level property name ({@code username}) or a JSON Pointer
+ * ({@code /order/items/0/sku}). Scalar values are returned as text, objects and arrays as their JSON text.
+ * JSON {@code null} is treated as a missing value.
+ * </p>
+ */
+public final class JsonBodySelector {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private final Node root = new Node();
+    private final int keyCount;
+
+    /**
+     * Compiles a selector for the given body keys.
+     *
+     * @param keys the keys declared by the BODY bindings of a model.
+     */
+    JsonBodySelector(Collection<String> keys) {
+        int count = 0;
+        for (String key : keys) {
+            Node node = root;
+            JsonPointer pointer = key.startsWith("/")
+                    ? JsonPointer.compile(key)
+                    : JsonPointer.empty().appendProperty(key);
+            for (; !pointer.matches(); pointer = pointer.tail()) {
+                node = node.children.computeIfAbsent(pointer.getMatchingProperty(), name -> new Node());
+            }
+            if (node.key == null) {
+                node.key = key;
+                count++;
+            }
+        }
+        this.keyCount = count;
+    }
+
+    /**
+     * Reads the selected values from a JSON body. The stream is not closed and is left unread
+     * past the point where the last requested key was found.
+     *
+     * @param body the request body.
+     * @return the found values by their declared key; keys that are absent from the body are not present.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    public Map<String, String> extract(InputStream body) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.createParser(body)) {
+            return extract(parser);
+        }
+    }
+
+    /**
+     * Reads the selected values from a JSON document held in a byte array, such as one line of an NDJSON body.
+     *
+     * @param content the array holding the document.
+     * @param offset  the offset of the document in the array.
+     * @param length  the length of the document in bytes.
+     * @return the found values by their declared key; keys that are absent from the document are not present.
+     * @throws IOException if the document is not valid JSON.
+     */
+    public Map<String, String> extract(byte[] content, int offset, int length) throws IOException {
+        try (JsonParser parser = OBJECT_MAPPER.createParser(content, offset, length)) {
+            return extract(parser);
+        }
+    }
+
+    private Map<String, String> extract(JsonParser parser) throws IOException {
+        Map<String, String> values = new HashMap<>();
+        if (parser.nextToken() != null) {
+            select(parser, root, values);
+        }
+        return values;
+    }
+
+    /**
+     * Visits the value the parser is positioned on.
+     *
+     * @return true once all keys have been found and reading can stop.
+     */
+    private boolean select(JsonParser parser, Node node, Map<String, String> values) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (node.key != null) {
+            if (token.isStructStart()) {
+                JsonNode tree = parser.readValueAsTree();
+                values.put(node.key, tree.toString());
+                collect(tree, node, values);
+            } else if (token != JsonToken.VALUE_NULL) {
+                values.put(node.key, parser.getText());
+            }
+            return values.size() == keyCount;
+        }
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Node child = node.children.get(parser.currentName());
+                parser.nextToken();
+                if (child == null) {
+                    parser.skipChildren();
+                } else if (select(parser, child, values)) {
+                    return true;
+                }
+            }
+        } else if (token == JsonToken.START_ARRAY) {
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                Node child = node.children.get(Integer.toString(index++));
+                if (child == null) {
+                    parser.skipChildren();
+                } else if (select(parser, child, values)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves keys nested below a key whose container value was already read as a tree.
+     */
+    private static void collect(JsonNode tree, Node node, Map<String, String> values) {
+        for (Map.Entry<String, Node> entry : node.children.entrySet()) {
+            JsonNode value = tree.isArray() ? arrayElement(tree, entry.getKey()) : tree.get(entry.getKey());
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            Node child = entry.getValue();
+            if (child.key != null) {
+                values.put(child.key, value.isContainerNode() ? value.toString() : value.asText());
+            }
+            collect(value, child, values);
+        }
+    }
+
+    private static JsonNode arrayElement(JsonNode array, String index) {
+        try {
+            return array.get(Integer.parseInt(index));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Segment of the key tree. A node with a non-null key is requested by a binding.
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private String key;
+    }
+}
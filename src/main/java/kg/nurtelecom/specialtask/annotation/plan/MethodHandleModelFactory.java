@@ -0,0 +1,59 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Reflection-free {@link ModelFactory} built from method handles that were looked up once,
+ * used for models without a generated {@link RequestBinder}.
+ * <p>
+ * For records the values are passed to the canonical constructor in component order.
+ * For JavaBeans the no-arg constructor is invoked and each value is assigned through its field setter.
+ * </p>
+ */
+final class MethodHandleModelFactory implements ModelFactory {
+
+    private final Class<?> modelClass;
+    private final MethodHandle constructor;
+    private final MethodHandle[] setters;
+
+    /**
+     * Creates a factory for a record type.
+     *
+     * @param modelClass  the record class.
+     * @param constructor the canonical constructor adapted to {@code (Object[])Object}.
+     */
+    MethodHandleModelFactory(Class<?> modelClass, MethodHandle constructor) {
+        this(modelClass, constructor, null);
+    }
+
+    /**
+     * Creates a factory for a JavaBean type.
+     *
+     * @param modelClass  the bean class.
+     * @param constructor the no-arg constructor adapted to {@code ()Object}.
+     * @param setters     the field setters adapted to {@code (Object,Object)void}, aligned with the plan fields.
+     */
+    MethodHandleModelFactory(Class<?> modelClass, MethodHandle constructor, MethodHandle[] setters) {
+        this.modelClass = modelClass;
+        this.constructor = constructor;
+        this.setters = setters;
+    }
+
+    @Override
+    public Object create(Object[] values) throws Exception {
+        try {
+            if (setters == null) {
+                return (Object) constructor.invokeExact(values);
+            }
+            Object model = (Object) constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(model, values[i]);
+            }
+            return model;
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Failed to instantiate " + modelClass.getName(), t);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+/**
+ * Creates a model instance from the values resolved for its {@link FieldBinding}s.
+ * <p>
+ * Implementations are either generated at compile time ({@link RequestBinder}) or built from method handles
+ * by {@link BindingPlanRegistry} when no generated binder exists.
+ * </p>
+ */
+@FunctionalInterface
+public interface ModelFactory {
+
+    /**
+     * Creates the model instance.
+     *
+     * @param values the converted values, aligned with the fields of the binding plan.
+     * @return the bound model instance.
+     * @throws Exception if the model cannot be created.
+     */
+    Object create(Object[] values) throws Exception;
+}
@@ -0,0 +1,40 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import java.util.List;
+
+/**
+ * Binder generated at compile time for a model with
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.RequestType} fields or record components.
+ * <p>
+ * The binder of a model {@code Foo} is named {@code Foo$Binder} and lives in the same package.
+ * It carries the binding metadata as constants and calls the canonical constructor (records) or assigns
+ * the fields (JavaBeans) directly, so neither the metadata nor the model creation needs reflection.
+ * When a model has no generated binder, {@link BindingPlanRegistry} falls back to reflection.
+ * </p>
+ *
+ * @param <T> the model type.
+ * @see kg.nurtelecom.specialtask.annotation.processor.RequestBinderProcessor
+ */
+public interface RequestBinder<T> extends ModelFactory {
+
+    /**
+     * Suffix appended to the binary name of a model class to form the name of its binder.
+     */
+    String SUFFIX = "$Binder";
+
+    /**
+     * Returns the bound fields in the order in which {@link #create(Object[])} expects their values.
+     *
+     * @return the field descriptors.
+     */
+    List<FieldDescriptor> fields();
+
+    /**
+     * Creates the model instance from the resolved values.
+     *
+     * @param values the converted values, aligned with {@link #fields()}.
+     * @return the bound model instance.
+     */
+    @Override
+    T create(Object[] values);
+}
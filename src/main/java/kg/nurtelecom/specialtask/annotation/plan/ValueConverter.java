@@ -0,0 +1,33 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+/**
+ * Converter resolved once per bound field while a {@link BindingPlan} is built.
+ * It turns the raw value read from the request into the field's target type,
+ * so no converter lookup has to happen on the request path.
+ *
+ * @see BindingPlan
+ * @see FieldBinding
+ */
+@FunctionalInterface
+public interface ValueConverter {
+
+    /**
+     * Returned instead of a value when the raw value is malformed, so a converter that can validate its input
+     * cheaply reports the failure without throwing. Binding treats it like a thrown exception.
+     */
+    Object INVALID = new Object() {
+        @Override
+        public String toString() {
+            return "INVALID";
+        }
+    };
+
+    /**
+     * Converts the raw request value to the target type of the field.
+     *
+     * @param rawValue the non-null value read from the request.
+     * @return the converted value, or {@link #INVALID} if the value is malformed.
+     * @throws Exception if the value cannot be converted.
+     */
+    Object convert(Object rawValue) throws Exception;
+}
@@ -0,0 +1,263 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import org.springframework.core.convert.ConversionService;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Resolves the {@link ValueConverter} of a bound field once, while its {@link BindingPlan} is built.
+ * <p>
+ * Text values for {@code int}, {@code long}, {@code boolean}, {@code double}, their wrappers, {@link UUID} and
+ * enums are parsed directly from the {@link CharSequence} read from the request. The fast paths accept the same
+ * spellings as the {@link ConversionService}, including hexadecimal integers, and validate the text without
+ * throwing: text they cannot parse converts to {@link ValueConverter#INVALID}, which binding reports as a
+ * {@link kg.nurtelecom.specialtask.annotation.resolver.BindingError}, so a malformed value costs neither an
+ * exception nor a second attempt through the {@link ConversionService}. Values that already have the target type
+ * are passed through. Everything else is delegated to the {@link ConversionService}.
+ * </p>
+ * <p>
+ * As with the {@link ConversionService}, blank text converts to null, which binding treats as a missing value.
+ * </p>
+ * <p>
+ * Parsing itself is unboxed: digits accumulate in a primitive and are boxed once, when the value is returned.
+ * That box stays, because every model is created from one {@code Object[]}, by {@link RequestBinder#create}
+ * or {@link MethodHandleModelFactory}, which also carries defaults, lazy suppliers and binding errors.
+ * {@code Integer} and {@code Long} values between -128 and 127, booleans and enums are cached constants and
+ * never allocate.
+ * </p>
+ */
+final class ValueConverters {
+
+    private static final int[] UUID_GROUP_DIGITS = {8, 4, 4, 4, 12};
+
+    private ValueConverters() {
+    }
+
+    /**
+     * Returns the converter for a target type.
+     *
+     * @param targetType        the declared type of the field, possibly primitive.
+     * @param conversionService the converter for types and values without a fast path.
+     * @return the converter for the target type.
+     */
+    static ValueConverter forType(Class<?> targetType, ConversionService conversionService) {
+        Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(targetType);
+        ValueConverter fallback = rawValue -> conversionService.convert(rawValue, boxedType);
+        TextParser parser = textParser(boxedType);
+        if (parser == null) {
+            return rawValue -> boxedType.isInstance(rawValue) ? rawValue : fallback.convert(rawValue);
+        }
+        return rawValue -> {
+            if (boxedType.isInstance(rawValue)) {
+                return rawValue;
+            }
+            if (rawValue instanceof CharSequence text) {
+                int start = 0;
+                int end = text.length();
+                while (start < end && Character.isWhitespace(text.charAt(start))) {
+                    start++;
+                }
+                while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+                    end--;
+                }
+                if (start == end) {
+                    return null;
+                }
+                return parser.parse(text, start, end);
+            }
+            return fallback.convert(rawValue);
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TextParser textParser(Class<?> type) {
+        if (type == Integer.class) {
+            return (text, start, end) -> parseInteger(text, start, end, true);
+        }
+        if (type == Long.class) {
+            return (text, start, end) -> parseInteger(text, start, end, false);
+        }
+        if (type == Double.class) {
+            return (text, start, end) -> isDouble(text, start, end)
+                    ? Double.parseDouble(text.subSequence(start, end).toString())
+                    : ValueConverter.INVALID;
+        }
+        if (type == Boolean.class) {
+            return ValueConverters::parseBoolean;
+        }
+        if (type == UUID.class) {
+            return ValueConverters::parseUuid;
+        }
+        if (type.isEnum()) {
+            Map<String, Object> constants = new HashMap<>();
+            for (Enum constant : ((Class<? extends Enum>) type).getEnumConstants()) {
+                constants.put(constant.name(), constant);
+            }
+            return (text, start, end) -> constants.getOrDefault(text.subSequence(start, end).toString(),
+                    ValueConverter.INVALID);
+        }
+        return null;
+    }
+
+    /**
+     * Parses a decimal or hexadecimal ({@code 0x}, {@code 0X} or {@code #} prefixed) integer with an optional
+     * sign, the spellings the {@link ConversionService} accepts.
+     *
+     * @param intValue whether the target is {@code int} rather than {@code long}.
+     * @return the {@link Integer} or {@link Long} value, or {@link ValueConverter#INVALID} if the text is malformed
+     *         or out of range.
+     */
+    private static Object parseInteger(CharSequence text, int start, int end, boolean intValue) {
+        int index = start;
+        boolean negative = false;
+        char first = text.charAt(index);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index++;
+        }
+        int radix = 10;
+        if (index + 1 < end && text.charAt(index) == '0'
+                && (text.charAt(index + 1) == 'x' || text.charAt(index + 1) == 'X')) {
+            radix = 16;
+            index += 2;
+        } else if (index < end && text.charAt(index) == '#') {
+            radix = 16;
+            index++;
+        }
+        if (index == end) {
+            return ValueConverter.INVALID;
+        }
+        // Accumulated negatively like Long.parseLong, so the magnitude of the minimum value fits.
+        long limit = intValue
+                ? (negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE)
+                : (negative ? Long.MIN_VALUE : -Long.MAX_VALUE);
+        long multiplyMin = limit / radix;
+        long value = 0;
+        for (; index < end; index++) {
+            int digit = Character.digit(text.charAt(index), radix);
+            if (digit < 0 || value < multiplyMin) {
+                return ValueConverter.INVALID;
+            }
+            value *= radix;
+            if (value < limit + digit) {
+                return ValueConverter.INVALID;
+            }
+            value -= digit;
+        }
+        long result = negative ? value : -value;
+        return intValue ? (Object) (int) result : (Object) result;
+    }
+
+    /**
+     * Checks the decimal notation of {@link Double#parseDouble(String)}: an optional sign, digits with an optional
+     * fraction, an optional exponent, or {@code NaN} and {@code Infinity}.
+     */
+    private static boolean isDouble(CharSequence text, int start, int end) {
+        int index = start;
+        if (text.charAt(index) == '-' || text.charAt(index) == '+') {
+            index++;
+        }
+        if (index < end && (text.charAt(index) == 'N' || text.charAt(index) == 'I')) {
+            String word = text.subSequence(index, end).toString();
+            return word.equals("NaN") || word.equals("Infinity");
+        }
+        int digits = 0;
+        while (index < end && isDigit(text.charAt(index))) {
+            index++;
+            digits++;
+        }
+        if (index < end && text.charAt(index) == '.') {
+            index++;
+            while (index < end && isDigit(text.charAt(index))) {
+                index++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (index < end && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            index++;
+            if (index < end && (text.charAt(index) == '-' || text.charAt(index) == '+')) {
+                index++;
+            }
+            int exponentStart = index;
+            while (index < end && isDigit(text.charAt(index))) {
+                index++;
+            }
+            if (index == exponentStart) {
+                return false;
+            }
+        }
+        return index == end;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int hexDigit(char c) {
+        if (isDigit(c)) {
+            return c - '0';
+        }
+        char lower = (char) (c | 0x20);
+        return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : -1;
+    }
+
+    /**
+     * Parses the boolean spellings accepted by the {@link ConversionService}.
+     */
+    private static Object parseBoolean(CharSequence text, int start, int end) {
+        String value = text.subSequence(start, end).toString();
+        return switch (value.toLowerCase()) {
+            case "true", "on", "yes", "1" -> Boolean.TRUE;
+            case "false", "off", "no", "0" -> Boolean.FALSE;
+            default -> ValueConverter.INVALID;
+        };
+    }
+
+    /**
+     * Parses the five dash separated hexadecimal groups accepted by {@link UUID#fromString(String)}.
+     */
+    private static Object parseUuid(CharSequence text, int start, int end) {
+        if (end - start > 36) {
+            return ValueConverter.INVALID;
+        }
+        long[] groups = new long[5];
+        int index = start;
+        for (int group = 0; group < groups.length; group++) {
+            int groupStart = index;
+            long value = 0;
+            while (index < end && text.charAt(index) != '-') {
+                int digit = hexDigit(text.charAt(index));
+                if (digit < 0) {
+                    return ValueConverter.INVALID;
+                }
+                value = value << 4 | digit;
+                index++;
+            }
+            int length = index - groupStart;
+            if (length == 0 || length > UUID_GROUP_DIGITS[group] || (group < 4) == (index == end)) {
+                return ValueConverter.INVALID;
+            }
+            groups[group] = value;
+            index++;
+        }
+        return new UUID(groups[0] << 32 | groups[1] << 16 | groups[2], groups[3] << 48 | groups[4]);
+    }
+
+    /**
+     * Parses the trimmed, non-empty range of a text value.
+     */
+    @FunctionalInterface
+    private interface TextParser {
+
+        /**
+         * @return the parsed value, or {@link ValueConverter#INVALID} if the text is malformed.
+         */
+        Object parse(CharSequence text, int start, int end);
+    }
+}
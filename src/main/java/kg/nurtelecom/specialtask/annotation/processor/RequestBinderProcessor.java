@@ -0,0 +1,322 @@
+package kg.nurtelecom.specialtask.annotation.processor;
+
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor that generates a {@code RequestBinder} for every type with
+ * {@code @RequestType} fields or record components.
+ * <p>
+ * For a model {@code Foo} the class {@code Foo$Binder} is generated in the same package. It holds the
+ * binding metadata as constants and creates the model by calling the canonical constructor (records)
+ * or by assigning the fields of a new instance (JavaBeans), so binding needs no reflection at all.
+ * A lazy {@code Supplier<T>} field is described with its value type {@code T}. The binder does not read the
+ * request itself: the values are still read and converted by the resolvers, which share that code between the
+ * servlet and reactive stacks, and the binder replaces only the reflective metadata and model creation.
+ * </p>
+ * <p>
+ * A binder is only generated when this is possible from plain Java source: the model, its constructor
+ * and its bound fields must not be private, bound bean fields must not be final and the model must not be
+ * generic. Other models are left to the reflective fallback of {@code BindingPlanRegistry}.
+ * A record component without {@code @RequestType} is reported as a warning and no binder is generated; binding
+ * such a record still fails at runtime, as it did before binders were generated.
+ * </p>
+ */
+@SupportedAnnotationTypes(RequestBinderProcessor.REQUEST_TYPE)
+public class RequestBinderProcessor extends AbstractProcessor {
+
+    static final String REQUEST_TYPE = "kg.nurtelecom.specialtask.annotation.annotations.RequestType";
+
+    private static final String BINDER_SUFFIX = "$Binder";
+    private static final String PLAN_PACKAGE = "kg.nurtelecom.specialtask.annotation.plan";
+    private static final String SOURCE_TYPE = "kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest";
+    private static final String SUPPLIER_TYPE = "java.util.function.Supplier";
+
+    private final Set<String> generated = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            Set<TypeElement> models = new LinkedHashSet<>();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.FIELD || element.getKind() == ElementKind.RECORD_COMPONENT) {
+                    models.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+            for (TypeElement model : models) {
+                String name = processingEnv.getElementUtils().getBinaryName(model).toString();
+                if (generated.add(name)) {
+                    generate(model);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(TypeElement model) {
+        Messager messager = processingEnv.getMessager();
+        if (!isAccessible(model) || !model.getTypeParameters().isEmpty()) {
+            messager.printMessage(Diagnostic.Kind.NOTE,
+                    "No binder generated for " + model + ", it will be bound through reflection", model);
+            return;
+        }
+        List<BoundField> fields = model.getKind() == ElementKind.RECORD ? recordFields(model) : beanFields(model);
+        if (fields == null) {
+            return;
+        }
+        try {
+            write(model, fields);
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write binder for " + model + ": " + e, model);
+        }
+    }
+
+    private List<BoundField> recordFields(TypeElement model) {
+        List<BoundField> fields = new ArrayList<>();
+        for (RecordComponentElement component : model.getRecordComponents()) {
+            AnnotationMirror requestType = requestType(component);
+            if (requestType == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Missing @RequestType annotation for record component: " + component.getSimpleName()
+                                + ", no binder generated for " + model, component);
+                return null;
+            }
+            fields.add(boundField(component, requestType));
+        }
+        ExecutableElement canonical = ElementFilter.constructorsIn(model.getEnclosedElements()).stream()
+                .filter(constructor -> isCanonical(constructor, fields))
+                .findFirst()
+                .orElse(null);
+        if (canonical == null || canonical.getModifiers().contains(Modifier.PRIVATE)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No binder generated for " + model + ", its canonical constructor is not accessible", model);
+            return null;
+        }
+        return fields;
+    }
+
+    private boolean isCanonical(ExecutableElement constructor, List<BoundField> fields) {
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        if (parameters.size() != fields.size()) {
+            return false;
+        }
+        Types types = processingEnv.getTypeUtils();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (!types.isSameType(types.erasure(parameters.get(i).asType()), types.erasure(fields.get(i).type()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<BoundField> beanFields(TypeElement model) {
+        boolean noArgConstructor = ElementFilter.constructorsIn(model.getEnclosedElements()).stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty()
+                        && !constructor.getModifiers().contains(Modifier.PRIVATE));
+        if (!noArgConstructor || model.getModifiers().contains(Modifier.ABSTRACT)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "No binder generated for " + model + ", it has no accessible no-arg constructor", model);
+            return null;
+        }
+        List<BoundField> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(model.getEnclosedElements())) {
+            AnnotationMirror requestType = requestType(field);
+            if (requestType == null) {
+                continue;
+            }
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)
+                    || modifiers.contains(Modifier.STATIC)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "No binder generated for " + model + ", field " + field.getSimpleName()
+                                + " cannot be assigned directly", field);
+                return null;
+            }
+            fields.add(boundField(field, requestType));
+        }
+        return fields;
+    }
+
+    private void write(TypeElement model, List<BoundField> fields) throws IOException {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+        PackageElement packageElement = elements.getPackageOf(model);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(model).toString();
+        String binderSimpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                + BINDER_SUFFIX;
+        String modelName = model.getQualifiedName().toString();
+        boolean record = model.getKind() == ElementKind.RECORD;
+
+        Filer filer = processingEnv.getFiler();
+        String binderName = packageName.isEmpty() ? binderSimpleName : packageName + "." + binderSimpleName;
+        try (Writer writer = filer.createSourceFile(binderName, model).openWriter()) {
+            StringBuilder source = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                source.append("package ").append(packageName).append(";\n\n");
+            }
+            source.append("@javax.annotation.processing.Generated(\"")
+                    .append(RequestBinderProcessor.class.getName()).append("\")\n")
+                    .append("public final class ").append(binderSimpleName)
+                    .append(" implements ").append(PLAN_PACKAGE).append(".RequestBinder<").append(modelName)
+                    .append("> {\n\n")
+                    .append("    private static final java.util.List<").append(PLAN_PACKAGE)
+                    .append(".FieldDescriptor> FIELDS = java.util.List.of(");
+            for (int i = 0; i < fields.size(); i++) {
+                BoundField field = fields.get(i);
+                source.append(i == 0 ? "\n" : ",\n")
+                        .append("            new ").append(PLAN_PACKAGE).append(".FieldDescriptor(")
+                        .append(elements.getConstantExpression(field.name())).append(", ")
+                        .append(SOURCE_TYPE).append('.').append(field.source()).append(", ")
+                        .append(elements.getConstantExpression(field.key())).append(", ")
+                        .append(types.erasure(field.valueType())).append(".class, ")
+                        .append(field.required()).append(", ")
+                        .append(RequestType.NO_DEFAULT.equals(field.defaultValue())
+                                ? "null" : elements.getConstantExpression(field.defaultValue())).append(", ")
+                        .append(field.lazy()).append(')');
+            }
+            source.append(");\n\n")
+                    .append("    @Override\n")
+                    .append("    public java.util.List<").append(PLAN_PACKAGE).append(".FieldDescriptor> fields() {\n")
+                    .append("        return FIELDS;\n")
+                    .append("    }\n\n")
+                    .append("    @Override\n")
+                    .append("    @SuppressWarnings(\"unchecked\")\n")
+                    .append("    public ").append(modelName).append(" create(Object[] values) {\n");
+            if (record) {
+                source.append("        return new ").append(modelName).append('(');
+                for (int i = 0; i < fields.size(); i++) {
+                    source.append(i == 0 ? "\n" : ",\n")
+                            .append("                (").append(fields.get(i).type()).append(") values[")
+                            .append(i).append(']');
+                }
+                source.append(");\n");
+            } else {
+                source.append("        ").append(modelName).append(" model = new ").append(modelName).append("();\n");
+                for (int i = 0; i < fields.size(); i++) {
+                    BoundField field = fields.get(i);
+                    source.append("        model.").append(field.name()).append(" = (").append(field.type())
+                            .append(") values[").append(i).append("];\n");
+                }
+                source.append("        return model;\n");
+            }
+            source.append("    }\n}\n");
+            writer.write(source.toString());
+        }
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            TypeElement current = (TypeElement) element;
+            if (current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.LOCAL || current.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            if (current.getNestingKind() == NestingKind.MEMBER && !current.getModifiers().contains(Modifier.STATIC)
+                    && current.getKind() == ElementKind.CLASS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static AnnotationMirror requestType(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(REQUEST_TYPE)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private BoundField boundField(Element element, AnnotationMirror requestType) {
+        String source = null;
+        String key = null;
+        boolean required = true;
+        String defaultValue = null;
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(requestType).entrySet()) {
+            String attribute = entry.getKey().getSimpleName().toString();
+            if (attribute.equals("value")) {
+                source = ((VariableElement) entry.getValue().getValue()).getSimpleName().toString();
+            } else if (attribute.equals("key")) {
+                key = (String) entry.getValue().getValue();
+            } else if (attribute.equals("required")) {
+                required = (Boolean) entry.getValue().getValue();
+            } else if (attribute.equals("defaultValue")) {
+                defaultValue = (String) entry.getValue().getValue();
+            }
+        }
+        TypeMirror type = element.asType();
+        TypeMirror valueType = lazyValueType(type);
+        return new BoundField(element.getSimpleName().toString(), type, valueType != null ? valueType : type,
+                source, key, required, defaultValue, valueType != null);
+    }
+
+    /**
+     * Returns the type argument of a {@code Supplier<T>} field, which is bound lazily.
+     *
+     * @return the value type, or null if the field is not a {@code Supplier}.
+     */
+    private TypeMirror lazyValueType(TypeMirror type) {
+        if (!(type instanceof DeclaredType declaredType)
+                || !((TypeElement) declaredType.asElement()).getQualifiedName().contentEquals(SUPPLIER_TYPE)) {
+            return null;
+        }
+        TypeMirror object = processingEnv.getElementUtils().getTypeElement("java.lang.Object").asType();
+        if (declaredType.getTypeArguments().isEmpty()) {
+            return object;
+        }
+        TypeMirror argument = declaredType.getTypeArguments().get(0);
+        if (argument instanceof WildcardType wildcard) {
+            return wildcard.getExtendsBound() != null ? wildcard.getExtendsBound() : object;
+        }
+        return argument;
+    }
+
+    /**
+     * A field or record component together with its {@code @RequestType} values. The value type differs from
+     * the declared type for a lazy {@code Supplier} field.
+     */
+    private record BoundField(String name, TypeMirror type, TypeMirror valueType, String source, String key,
+                              boolean required, String defaultValue, boolean lazy) {
+    }
+}
@@ -0,0 +1,97 @@
+package kg.nurtelecom.specialtask.annotation.reactive;
+
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+/**
+ * {@link MultipartFile} view of a {@link FilePart} whose content was collected without blocking,
+ * so models with MULTIPART file fields can be bound on the reactive stack unchanged.
+ * <p>
+ * The content is held in memory and is capped at the max in-memory size of the resolver,
+ * {@link ReactiveRequestsArgumentResolver#DEFAULT_MAX_IN_MEMORY_SIZE 256KB} by default. The cap is deliberate:
+ * this view exists for small files such as avatars or documents, and larger parts fail with a
+ * {@link org.springframework.core.io.buffer.DataBufferLimitException} instead of filling the heap. Handlers that
+ * receive large files bind the {@link FilePart} itself and stream it with {@link FilePart#transferTo}.
+ * </p>
+ */
+final class PartMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final byte[] content;
+
+    PartMultipartFile(FilePart part, byte[] content) {
+        this.name = part.name();
+        this.originalFilename = part.filename();
+        this.contentType = part.headers().getContentType() != null
+                ? part.headers().getContentType().toString()
+                : null;
+        this.content = content;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return content.length == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return content.length;
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return content.clone();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteArrayInputStream(content);
+    }
+
+    /**
+     * Writes the content to a file. The write runs on the bounded elastic scheduler, so the file system is never
+     * accessed from an event loop thread; the calling thread waits for it, as the {@link MultipartFile} contract
+     * requires, which Reactor rejects on an event loop. Handlers running there use {@link FilePart#transferTo}.
+     *
+     * @param dest the destination file.
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void transferTo(File dest) throws IOException {
+        try {
+            Mono.fromCallable(() -> Files.write(dest.toPath(), content))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .block();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package kg.nurtelecom.specialtask.annotation.reactive;
+
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.metrics.BindingMetrics;
+import kg.nurtelecom.specialtask.annotation.metrics.ModelMeters;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlan;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.plan.FieldBinding;
+import kg.nurtelecom.specialtask.annotation.resolver.BindingError;
+import kg.nurtelecom.specialtask.annotation.resolver.BindingException;
+import kg.nurtelecom.specialtask.annotation.resolver.BulkRequest;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import kg.nurtelecom.specialtask.annotation.resolver.UploadSource;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.Nullable;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebSession;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The WebFlux counterpart of {@link RequestsArgumentResolver}: binds method parameters annotated with
+ * {@link BindRequest} without blocking, so the same {@link RequestType} models work on both stacks.
+ * <p>
+ * Models are bound through the same cached {@link BindingPlan}s, converters and default values. The request
+ * body is collected from its {@link DataBuffer}s and the declared BODY keys are streamed out of the joined
+ * buffer. Multipart data and the {@link WebSession} are only requested when the model has fields reading them.
+ * A MULTIPART field of type {@link MultipartFile} receives the file part with its content collected in memory,
+ * a field of type {@link Part} or {@link FilePart} receives the part itself. Lookups of UPLOAD bindings run on
+ * the bounded elastic scheduler, since an {@link UploadSource} may access the file system.
+ * </p>
+ * <p>
+ * Missing and unconvertible values of all fields are collected into one {@link BindingException}, emitted as
+ * the error of the returned {@link Mono}. {@code Supplier<T>} fields are resolved together with the other
+ * fields, because a value cannot be read without blocking on first access; a binding error of such a field is
+ * still thrown on access. PARAM values are read from the query string only. {@link BulkRequest} parameters
+ * are not supported.
+ * </p>
+ *
+ * @see RequestsArgumentResolver
+ */
+public class ReactiveRequestsArgumentResolver implements HandlerMethodArgumentResolver {
+
+    /**
+     * The default limit for a collected body or file part, matching the default of the WebFlux codecs. Bodies and
+     * {@link MultipartFile} parts are held in memory, so the limit is deliberately small; larger files are bound
+     * as a {@link FilePart} and streamed.
+     */
+    public static final int DEFAULT_MAX_IN_MEMORY_SIZE = 256 * 1024;
+
+    private static final MultiValueMap<String, Part> NO_PARTS = new LinkedMultiValueMap<>();
+
+    private final BindingPlanRegistry bindingPlanRegistry;
+    private final UploadSource uploadSource;
+    private final BindingMetrics metrics;
+    private final int maxInMemorySize;
+
+    private ReactiveRequestsArgumentResolver(Builder builder) {
+        this.bindingPlanRegistry = builder.bindingPlanRegistry;
+        this.uploadSource = builder.uploadSource;
+        this.metrics = builder.metrics;
+        this.maxInMemorySize = builder.maxInMemorySize;
+    }
+
+    /**
+     * Starts building a ReactiveRequestsArgumentResolver. Collaborators that are not set are disabled or use
+     * their defaults, see the methods of the {@link Builder}.
+     *
+     * @param bindingPlanRegistry the registry providing cached binding plans for model classes.
+     * @return the builder.
+     */
+    public static Builder builder(BindingPlanRegistry bindingPlanRegistry) {
+        return new Builder(bindingPlanRegistry);
+    }
+
+    /**
+     * Checks if the method parameter is annotated with {@link BindRequest} and is not a {@link BulkRequest}.
+     *
+     * @param parameter the method parameter to check.
+     * @return true if the parameter can be bound by this resolver; false otherwise.
+     */
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(BindRequest.class) && parameter.getParameterType() != BulkRequest.class;
+    }
+
+    /**
+     * Binds the request data to an instance of the parameter type.
+     *
+     * @param parameter      the method parameter to resolve.
+     * @param bindingContext the binding context of the current request.
+     * @param exchange       the current exchange.
+     * @return the bound model, or a {@link BindingException} error if values are missing or cannot be converted.
+     */
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter, BindingContext bindingContext,
+                                        ServerWebExchange exchange) {
+        BindingPlan plan = bindingPlanRegistry.planFor(parameter.getParameterType());
+        ModelMeters meters = metrics != null ? metrics.forPlan(plan) : null;
+        long start = meters != null ? System.nanoTime() : 0;
+        boolean multipart = MediaType.MULTIPART_FORM_DATA.isCompatibleWith(
+                exchange.getRequest().getHeaders().getContentType());
+        boolean readsSession = false;
+        boolean readsParts = false;
+        for (FieldBinding field : plan.getFields()) {
+            readsSession |= field.source() == TypeOfDataRequest.SESSION;
+            readsParts |= multipart && (field.source() == TypeOfDataRequest.MULTIPART
+                    || field.source() == TypeOfDataRequest.BODY);
+        }
+        Mono<Map<String, String>> body = plan.getBodySelector() != null && !multipart
+                ? readBody(exchange.getRequest(), plan, meters)
+                : Mono.just(Map.of());
+        Mono<MultiValueMap<String, Part>> parts = readsParts ? exchange.getMultipartData() : Mono.just(NO_PARTS);
+        Mono<Map<String, Object>> session = readsSession
+                ? exchange.getSession().map(WebSession::getAttributes)
+                : Mono.just(Map.of());
+        Mono<Object> model = Mono.zip(body, parts, session)
+                .flatMap(sources -> bind(plan, exchange, sources.getT1(), sources.getT2(), sources.getT3(), meters));
+        if (meters == null) {
+            return model;
+        }
+        return model.doFinally(signal -> meters.resolved(System.nanoTime() - start));
+    }
+
+    private Mono<Object> bind(BindingPlan plan, ServerWebExchange exchange, Map<String, String> bodyValues,
+                              MultiValueMap<String, Part> parts, Map<String, Object> sessionAttributes,
+                              ModelMeters meters) {
+        List<FieldBinding> fields = plan.getFields();
+        Object[] rawValues = new Object[fields.size()];
+        List<Mono<?>> pending = null;
+        for (int i = 0; i < rawValues.length; i++) {
+            int index = i;
+            Object rawValue = readValue(exchange, fields.get(i), bodyValues, parts, sessionAttributes);
+            if (rawValue instanceof Mono<?> value) {
+                pending = pending != null ? pending : new ArrayList<>();
+                pending.add(value.doOnNext(resolved -> rawValues[index] = resolved));
+            } else {
+                rawValues[i] = rawValue;
+            }
+        }
+        Mono<Void> ready = pending != null ? Mono.when(pending) : Mono.empty();
+        return ready.then(Mono.fromCallable(() -> instantiate(plan, rawValues, meters)));
+    }
+
+    private static Object instantiate(BindingPlan plan, Object[] rawValues, ModelMeters meters) throws Exception {
+        List<FieldBinding> fields = plan.getFields();
+        Object[] values = new Object[rawValues.length];
+        List<BindingError> errors = null;
+        for (int i = 0; i < values.length; i++) {
+            FieldBinding field = fields.get(i);
+            Object value = RequestsArgumentResolver.bindValue(field, rawValues[i], meters);
+            if (field.lazy()) {
+                values[i] = lazyValue(plan.getModelClass(), value);
+            } else if (value instanceof BindingError error) {
+                errors = errors != null ? errors : new ArrayList<>();
+                errors.add(error);
+            } else {
+                values[i] = value;
+            }
+        }
+        if (errors != null) {
+            throw new BindingException(plan.getModelClass(), errors);
+        }
+        return plan.instantiate(values);
+    }
+
+    /**
+     * Wraps an already resolved value of a {@code Supplier<T>} field, throwing its binding error on access.
+     */
+    private static Supplier<Object> lazyValue(Class<?> modelClass, Object value) {
+        if (value instanceof BindingError error) {
+            return () -> {
+                throw new BindingException(modelClass, List.of(error));
+            };
+        }
+        return () -> value;
+    }
+
+    /**
+     * Reads the raw value of a field.
+     *
+     * @return the value, null if it is missing, or a {@link Mono} if it has to be read asynchronously.
+     */
+    private Object readValue(ServerWebExchange exchange, FieldBinding field, Map<String, String> bodyValues,
+                             MultiValueMap<String, Part> parts, Map<String, Object> sessionAttributes) {
+        ServerHttpRequest request = exchange.getRequest();
+        String key = field.key();
+        switch (field.source()) {
+            case HEADER:
+                return request.getHeaders().getFirst(key);
+            case PARAM:
+                return request.getQueryParams().getFirst(key);
+            case PATH:
+                return pathVariable(exchange, key);
+            case ATTRIBUTE:
+                return exchange.getAttribute(key);
+            case COOKIE:
+                HttpCookie cookie = request.getCookies().getFirst(key);
+                return cookie != null ? cookie.getValue() : null;
+            case SESSION:
+                return sessionAttributes.get(key);
+            case BODY:
+                return parts.isEmpty() ? bodyValues.get(key) : formFieldValue(parts.getFirst(key));
+            case MULTIPART:
+                return partValue(parts.getFirst(key), field.targetType());
+            case UPLOAD:
+                if (uploadSource == null) {
+                    throw new IllegalStateException("No UploadSource configured for key '" + key + "'");
+                }
+                String uploadId = pathVariable(exchange, key);
+                if (uploadId == null) {
+                    uploadId = request.getQueryParams().getFirst(key);
+                }
+                if (uploadId == null) {
+                    return null;
+                }
+                String id = uploadId;
+                return Mono.fromCallable(() -> uploadSource.findUpload(id)).subscribeOn(Schedulers.boundedElastic());
+            default:
+                throw new IllegalArgumentException("Unsupported data type: " + field.source());
+        }
+    }
+
+    private static String pathVariable(ServerWebExchange exchange, String key) {
+        Map<String, String> variables = exchange.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get(key) : null;
+    }
+
+    private static String formFieldValue(Part part) {
+        return part instanceof FormFieldPart field ? field.value() : null;
+    }
+
+    private Object partValue(Part part, Class<?> targetType) {
+        if (part == null || targetType.isInstance(part)) {
+            return part;
+        }
+        if (part instanceof FilePart filePart && MultipartFile.class.isAssignableFrom(targetType)) {
+            return DataBufferUtils.join(filePart.content(), maxInMemorySize)
+                    .map(buffer -> {
+                        byte[] content = new byte[buffer.readableByteCount()];
+                        buffer.read(content);
+                        DataBufferUtils.release(buffer);
+                        return content;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .map(content -> new PartMultipartFile(filePart, content));
+        }
+        return formFieldValue(part);
+    }
+
+    /**
+     * Collects the request body and selects the BODY values of the plan from it.
+     */
+    private Mono<Map<String, String>> readBody(ServerHttpRequest request, BindingPlan plan, ModelMeters meters) {
+        return DataBufferUtils.join(request.getBody(), maxInMemorySize)
+                .flatMap(buffer -> Mono.fromCallable(() -> {
+                    long start = meters != null ? System.nanoTime() : 0;
+                    int size = buffer.readableByteCount();
+                    Map<String, String> values;
+                    try (InputStream body = buffer.asInputStream(true)) {
+                        values = plan.getBodySelector().extract(body);
+                    }
+                    if (meters != null) {
+                        meters.bodyParsed(System.nanoTime() - start, size);
+                    }
+                    return values;
+                }))
+                .defaultIfEmpty(Map.of());
+    }
+
+    /**
+     * Builder of a {@link ReactiveRequestsArgumentResolver} with its optional collaborators.
+     */
+    public static final class Builder {
+
+        private final BindingPlanRegistry bindingPlanRegistry;
+        private UploadSource uploadSource;
+        private BindingMetrics metrics;
+        private int maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE;
+
+        private Builder(BindingPlanRegistry bindingPlanRegistry) {
+            this.bindingPlanRegistry = bindingPlanRegistry;
+        }
+
+        /**
+         * @param uploadSource the source of finished uploads for UPLOAD bindings, or null if not supported.
+         * @return this builder.
+         */
+        public Builder uploadSource(@Nullable UploadSource uploadSource) {
+            this.uploadSource = uploadSource;
+            return this;
+        }
+
+        /**
+         * @param metrics the Micrometer meters of bindings, or null to publish no metrics.
+         * @return this builder.
+         */
+        public Builder metrics(@Nullable BindingMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * @param maxInMemorySize the maximum number of bytes collected for the body or a file part,
+         *                        {@link #DEFAULT_MAX_IN_MEMORY_SIZE} if not set.
+         * @return this builder.
+         */
+        public Builder maxInMemorySize(int maxInMemorySize) {
+            this.maxInMemorySize = maxInMemorySize;
+            return this;
+        }
+
+        /**
+         * @return the resolver with the collaborators set on this builder.
+         */
+        public ReactiveRequestsArgumentResolver build() {
+            return new ReactiveRequestsArgumentResolver(this);
+        }
+    }
+}
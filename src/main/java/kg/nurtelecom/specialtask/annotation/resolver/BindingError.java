@@ -0,0 +1,18 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+
+/**
+ * A single field of a model that could not be bound.
+ *
+ * @param field   the name of the record component or field.
+ * @param source  the source the value was read from.
+ * @param key     the key identifying the value in the source.
+ * @param message the description of the problem.
+ */
+public record BindingError(
+        String field,
+        TypeOfDataRequest source,
+        String key,
+        String message
+) {}
@@ -0,0 +1,59 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown once per binding when one or more fields of a model are missing or cannot be converted.
+ * It carries every {@link BindingError} of the model, so a client learns about all of them from one response.
+ * <p>
+ * Binding errors are caused by client input and are reported as a 400 response by
+ * {@link BindingExceptionHandler}, so no stack trace is captured and the message is only built when it is read.
+ * </p>
+ */
+public class BindingException extends IllegalStateException {
+
+    private final Class<?> modelClass;
+    private final List<BindingError> errors;
+
+    /**
+     * Constructs a new BindingException.
+     *
+     * @param modelClass the model class that could not be bound.
+     * @param errors     the errors of all fields that could not be bound.
+     */
+    public BindingException(Class<?> modelClass, List<BindingError> errors) {
+        this.modelClass = modelClass;
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * Returns the model class that could not be bound.
+     *
+     * @return the model class.
+     */
+    public Class<?> getModelClass() {
+        return modelClass;
+    }
+
+    /**
+     * Returns the errors of all fields that could not be bound.
+     *
+     * @return the errors in field order.
+     */
+    public List<BindingError> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Failed to bind " + modelClass.getName() + ": " + errors.stream()
+                .map(BindingError::message)
+                .collect(Collectors.joining("; "));
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,32 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Reports a {@link BindingException} as a 400 response listing every field that could not be bound.
+ * <p>
+ * The body is an RFC 9457 problem detail with an {@code errors} property holding the {@link BindingError}s,
+ * each with the field, source, key and message.
+ * </p>
+ */
+@RestControllerAdvice
+public class BindingExceptionHandler {
+
+    /**
+     * Converts a binding failure into a 400 response.
+     *
+     * @param e the binding failure.
+     * @return the problem detail of the response.
+     */
+    @ExceptionHandler(BindingException.class)
+    public ProblemDetail bindingFailed(BindingException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                "Request cannot be bound to " + e.getModelClass().getSimpleName());
+        problem.setTitle("Invalid request");
+        problem.setProperty("errors", e.getErrors());
+        return problem;
+    }
+}
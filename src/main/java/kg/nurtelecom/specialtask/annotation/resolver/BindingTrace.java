@@ -0,0 +1,72 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fields recorded while one model is bound, see {@link BindingTracer}.
+ */
+final class BindingTrace {
+
+    private final String model;
+    private final long start = System.nanoTime();
+    private final List<Field> fields = new ArrayList<>();
+    private String error;
+
+    BindingTrace(String model) {
+        this.model = model;
+    }
+
+    /**
+     * Records a bound or missing field.
+     *
+     * @param name            the field name.
+     * @param source          the source the value was read from.
+     * @param key             the key of the value in the source.
+     * @param hit             whether a value was found.
+     * @param conversionNanos the time spent converting the value, 0 if no conversion was needed.
+     */
+    void field(String name, TypeOfDataRequest source, String key, boolean hit, long conversionNanos) {
+        fields.add(new Field(name, source, key, hit, conversionNanos));
+    }
+
+    /**
+     * Records the failure that ended the binding. For a {@link BindingException} the messages of its errors
+     * are recorded, since the model is already part of the trace.
+     *
+     * @param failure the failure.
+     */
+    void failed(Exception failure) {
+        this.error = failure instanceof BindingException bindingFailure
+                ? bindingFailure.getErrors().stream().map(BindingError::message).collect(Collectors.joining("; "))
+                : failure.getMessage();
+    }
+
+    Record finish() {
+        return new Record(model, System.nanoTime() - start, error, fields);
+    }
+
+    /**
+     * The emitted trace record.
+     *
+     * @param model  the model class name.
+     * @param nanos  the total binding time.
+     * @param error  the failure message, or null if the model was bound.
+     * @param fields the recorded fields in binding order.
+     */
+    record Record(String model, long nanos, String error, List<Field> fields) {}
+
+    /**
+     * A recorded field.
+     *
+     * @param name            the field name.
+     * @param source          the source the value was read from.
+     * @param key             the key of the value in the source.
+     * @param hit             whether a value was found.
+     * @param conversionNanos the time spent converting the value.
+     */
+    record Field(String name, TypeOfDataRequest source, String key, boolean hit, long conversionNanos) {}
+}
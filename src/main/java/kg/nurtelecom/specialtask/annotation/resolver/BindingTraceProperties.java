@@ -0,0 +1,16 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the binding trace, bound from the {@code binding.trace.*} properties.
+ *
+ * @param enabled    whether binding traces are recorded at all.
+ * @param sampleRate one in how many bindings is traced; 1 traces every binding.
+ */
+@ConfigurationProperties("binding.trace")
+public record BindingTraceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int sampleRate
+) {}
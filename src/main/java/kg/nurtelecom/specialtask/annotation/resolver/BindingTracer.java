@@ -0,0 +1,78 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sampled trace of {@link RequestsArgumentResolver} bindings.
+ * <p>
+ * When disabled, {@link #start(Class)} returns null and the resolver records nothing, so binding does not
+ * allocate or log anything for tracing. When enabled, one in {@code binding.trace.sample-rate} bindings is
+ * traced and emitted as a single JSON record on the {@code kg.nurtelecom.specialtask.binding.trace} logger:
+ * the model, and for every field its source, key, whether a value was found and the conversion time.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(BindingTraceProperties.class)
+public class BindingTracer {
+
+    private static final Logger TRACE_LOGGER = Logger.getLogger("kg.nurtelecom.specialtask.binding.trace");
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final boolean enabled;
+    private final int sampleRate;
+
+    /**
+     * Constructs a new BindingTracer.
+     *
+     * @param properties the trace configuration.
+     */
+    public BindingTracer(BindingTraceProperties properties) {
+        this.enabled = properties.enabled();
+        this.sampleRate = Math.max(1, properties.sampleRate());
+    }
+
+    /**
+     * Returns a tracer that never traces.
+     *
+     * @return a disabled tracer.
+     */
+    public static BindingTracer disabled() {
+        return new BindingTracer(new BindingTraceProperties(false, 1));
+    }
+
+    /**
+     * Starts the trace of a binding if this binding is sampled.
+     *
+     * @param modelClass the model class being bound.
+     * @return the trace to record fields into, or null if this binding is not traced.
+     */
+    BindingTrace start(Class<?> modelClass) {
+        if (!enabled || sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return null;
+        }
+        return new BindingTrace(modelClass.getName());
+    }
+
+    /**
+     * Emits a finished trace.
+     *
+     * @param trace the trace returned by {@link #start(Class)}.
+     */
+    void emit(BindingTrace trace) {
+        if (!TRACE_LOGGER.isLoggable(Level.INFO)) {
+            return;
+        }
+        try {
+            TRACE_LOGGER.info(OBJECT_MAPPER.writeValueAsString(trace.finish()));
+        } catch (JsonProcessingException e) {
+            TRACE_LOGGER.log(Level.WARNING, "Failed to write binding trace", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Newline-delimited JSON request body whose lines are bound one by one to a model.
+ * <p>
+ * A handler parameter of type {@code BulkRequest<Model>} annotated with
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.BindRequest} is resolved by
+ * {@link RequestsArgumentResolver}. The BODY values of the model are selected from each line, every other
+ * source is resolved once for the whole request. The body is not read until {@link #forEach(int, ItemHandler)}
+ * is called; lines are then read through a single reusable buffer, and each line is handed to the handler as soon
+ * as it is bound, so its result can be streamed out right away. Nothing is collected per batch: the handler is
+ * only told where a batch ends, for example to flush its output, so memory use depends on the longest line and
+ * neither on the batch size nor on the size of the body.
+ * </p>
+ * <p>
+ * A line that is not valid JSON or cannot be bound does not fail the request, it is reported as a failed
+ * {@link Item} instead. Blank lines are skipped.
+ * </p>
+ *
+ * @param <T> the model type each line is bound to.
+ */
+public final class BulkRequest<T> {
+
+    /**
+     * The maximum length of a single line in bytes.
+     */
+    public static final int MAX_LINE_LENGTH = 1024 * 1024;
+
+    private static final int READ_SIZE = 8192;
+
+    private final InputStream body;
+    private final LineBinder<T> lineBinder;
+
+    /**
+     * Creates a bulk request.
+     *
+     * @param body       the NDJSON request body.
+     * @param lineBinder the binder creating a model from one line.
+     */
+    BulkRequest(InputStream body, LineBinder<T> lineBinder) {
+        this.body = body;
+        this.lineBinder = lineBinder;
+    }
+
+    /**
+     * Reads the body to the end, binding each line and passing its result to the handler, and ends a batch
+     * after every {@code batchSize} items and after the last one.
+     *
+     * @param batchSize the maximum number of items per batch.
+     * @param handler   the handler processing each item.
+     * @throws Exception if the body cannot be read, a line exceeds {@link #MAX_LINE_LENGTH} or the handler fails.
+     */
+    public void forEach(int batchSize, ItemHandler<T> handler) throws Exception {
+        int itemsPerBatch = Math.max(1, batchSize);
+        int batched = 0;
+        byte[] buffer = new byte[READ_SIZE];
+        int start = 0;
+        int end = 0;
+        long lineNumber = 0;
+        boolean eof = false;
+        while (!eof || start < end) {
+            int newline = indexOf(buffer, start, end);
+            if (newline < 0 && !eof) {
+                if (start > 0) {
+                    System.arraycopy(buffer, start, buffer, 0, end - start);
+                    end -= start;
+                    start = 0;
+                }
+                if (end == buffer.length) {
+                    if (buffer.length >= MAX_LINE_LENGTH) {
+                        throw new IOException("Line " + (lineNumber + 1) + " exceeds " + MAX_LINE_LENGTH + " bytes");
+                    }
+                    buffer = Arrays.copyOf(buffer, Math.min(MAX_LINE_LENGTH, buffer.length * 2));
+                }
+                int read = body.read(buffer, end, buffer.length - end);
+                if (read < 0) {
+                    eof = true;
+                } else {
+                    end += read;
+                }
+                continue;
+            }
+            int lineEnd = newline < 0 ? end : newline;
+            lineNumber++;
+            if (!isBlank(buffer, start, lineEnd)) {
+                handler.handle(bind(lineNumber, buffer, start, lineEnd - start));
+                if (++batched == itemsPerBatch) {
+                    handler.endBatch();
+                    batched = 0;
+                }
+            }
+            start = newline < 0 ? end : newline + 1;
+        }
+        if (batched > 0) {
+            handler.endBatch();
+        }
+    }
+
+    private Item<T> bind(long lineNumber, byte[] buffer, int offset, int length) {
+        try {
+            return new Item<>(lineNumber, lineBinder.bind(buffer, offset, length), null);
+        } catch (Exception e) {
+            return new Item<>(lineNumber, null, e);
+        }
+    }
+
+    private static int indexOf(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] != ' ' && buffer[i] != '\t' && buffer[i] != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Result of binding one line.
+     *
+     * @param line  the 1-based line number in the body.
+     * @param model the bound model, or null if binding failed.
+     * @param error the binding failure, or null if the line was bound.
+     * @param <T>   the model type.
+     */
+    public record Item<T>(long line, T model, Exception error) {
+
+        /**
+         * Returns whether the line was bound.
+         *
+         * @return true if {@link #model()} holds the bound model.
+         */
+        public boolean isBound() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Processes bound lines one by one.
+     *
+     * @param <T> the model type.
+     */
+    @FunctionalInterface
+    public interface ItemHandler<T> {
+
+        /**
+         * Handles an item. The item is not kept by the bulk request.
+         *
+         * @param item the result of binding one line; items arrive in line order.
+         * @throws Exception if the item cannot be processed; reading stops.
+         */
+        void handle(Item<T> item) throws Exception;
+
+        /**
+         * Called after the last item of a batch.
+         *
+         * @throws Exception if the batch cannot be finished; reading stops.
+         */
+        default void endBatch() throws Exception {
+        }
+    }
+
+    /**
+     * Binds a model from one line of the body.
+     *
+     * @param <T> the model type.
+     */
+    @FunctionalInterface
+    interface LineBinder<T> {
+
+        T bind(byte[] buffer, int offset, int length) throws Exception;
+    }
+}
@@ -0,0 +1,51 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Memoizing {@link Supplier} bound to a lazy {@code Supplier<T>} field, see {@link RequestsArgumentResolver}.
+ * <p>
+ * The value is resolved on the first call of {@link #get()} and then kept. Since it is read from the request,
+ * it has to be accessed while the request is handled, on the thread handling it. A failed resolution is not
+ * memoized: a {@link BindingException} for a missing or unconvertible value is thrown on every call.
+ * </p>
+ *
+ * @param <T> the type of the value.
+ */
+final class LazyValue<T> implements Supplier<T> {
+
+    private static final Object UNRESOLVED = new Object();
+
+    private Callable<T> resolver;
+    private Object value = UNRESOLVED;
+
+    LazyValue(Callable<T> resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (value == UNRESOLVED) {
+            try {
+                value = resolver.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to resolve lazy value", e);
+            }
+            resolver = null;
+        }
+        return (T) value;
+    }
+
+    @Override
+    public String toString() {
+        return value == UNRESOLVED ? "LazyValue[unresolved]" : "LazyValue[" + value + "]";
+    }
+}
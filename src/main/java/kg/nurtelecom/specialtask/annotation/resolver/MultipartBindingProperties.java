@@ -0,0 +1,19 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of streaming MULTIPART bindings, bound from the {@code binding.multipart.*} properties.
+ * <p>
+ * How much of a part is held in memory before the container spills it to disk is configured through
+ * {@code spring.servlet.multipart.file-size-threshold} and {@code spring.servlet.multipart.location}.
+ * </p>
+ *
+ * @param spoolDir the directory parts bound to a {@link Path} are moved to, or null for {@code java.io.tmpdir}.
+ *                 Placed on the file system of the container's spill directory, a part already on disk is
+ *                 renamed instead of copied.
+ */
+@ConfigurationProperties("binding.multipart")
+public record MultipartBindingProperties(Path spoolDir) {}
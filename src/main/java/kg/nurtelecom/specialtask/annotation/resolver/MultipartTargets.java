@@ -0,0 +1,147 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Adapts multipart files to the streaming targets of MULTIPART bindings.
+ * <p>
+ * Besides {@link MultipartFile}, a MULTIPART field may be declared as an {@link InputStream}, a
+ * {@link ReadableByteChannel} or a {@link Path}. The container reads the parts while the request streams in
+ * and keeps each one in memory only up to {@code spring.servlet.multipart.file-size-threshold}, larger parts are
+ * spilled to {@code spring.servlet.multipart.location}. Streams and channels read the part from there without
+ * copying it into a byte array. A {@link Path} is the part moved into {@code binding.multipart.spool-dir}, which is
+ * a rename when the part is already on disk on the same file system, so the handler can process the file in
+ * constant memory.
+ * </p>
+ * <p>
+ * Streams, channels and spooled files belong to the request: they are closed and deleted when the request
+ * completes. A handler that keeps a spooled file has to move it elsewhere.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(MultipartBindingProperties.class)
+public class MultipartTargets {
+
+    private static final Logger LOGGER = Logger.getLogger(MultipartTargets.class.getName());
+
+    private final Path spoolDir;
+
+    /**
+     * Constructs a new MultipartTargets.
+     *
+     * @param properties the streaming multipart configuration.
+     */
+    public MultipartTargets(MultipartBindingProperties properties) {
+        Path dir = properties.spoolDir() != null
+                ? properties.spoolDir()
+                : Path.of(System.getProperty("java.io.tmpdir"));
+        this.spoolDir = dir.toAbsolutePath();
+    }
+
+    /**
+     * Returns targets that spool parts into {@code java.io.tmpdir}.
+     *
+     * @return the default multipart targets.
+     */
+    public static MultipartTargets defaults() {
+        return new MultipartTargets(new MultipartBindingProperties(null));
+    }
+
+    /**
+     * Checks whether a MULTIPART field of the given type is bound to the file part rather than to a text parameter.
+     *
+     * @param targetType the target type of the field.
+     * @return true for {@link MultipartFile}, {@link InputStream}, {@link ReadableByteChannel} and {@link Path}.
+     */
+    public static boolean isFileTarget(Class<?> targetType) {
+        return MultipartFile.class.isAssignableFrom(targetType) || targetType == InputStream.class
+                || targetType == ReadableByteChannel.class || targetType == Path.class;
+    }
+
+    /**
+     * Adapts a multipart file to the target type of a field.
+     *
+     * @param file       the multipart file.
+     * @param targetType the target type, one of the {@link #isFileTarget(Class) file targets}.
+     * @return the file, a stream or channel over its content, or the path of the spooled file.
+     * @throws IOException if the part cannot be read or spooled.
+     */
+    public Object adapt(MultipartFile file, Class<?> targetType) throws IOException {
+        if (targetType == InputStream.class) {
+            return closeOnCompletion(file.getInputStream());
+        }
+        if (targetType == ReadableByteChannel.class) {
+            return closeOnCompletion(Channels.newChannel(file.getInputStream()));
+        }
+        if (targetType == Path.class) {
+            return spool(file);
+        }
+        return file;
+    }
+
+    /**
+     * Moves a part into the spool directory.
+     */
+    private Path spool(MultipartFile file) throws IOException {
+        Files.createDirectories(spoolDir);
+        Path target = spoolDir.resolve("part-" + UUID.randomUUID());
+        try {
+            file.transferTo(target.toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        onCompletion(target.toString(), () -> {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return target;
+    }
+
+    private static <T extends Closeable> T closeOnCompletion(T resource) {
+        onCompletion(resource.getClass().getSimpleName() + "-" + UUID.randomUUID(), () -> {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return resource;
+    }
+
+    /**
+     * Runs a cleanup when the current request completes. Outside a request the caller owns the resource.
+     */
+    private static void onCompletion(String name, Runnable cleanup) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        attributes.registerDestructionCallback(MultipartTargets.class.getName() + "." + name, () -> {
+            try {
+                cleanup.run();
+            } catch (UncheckedIOException e) {
+                LOGGER.log(Level.WARNING, "Failed to release multipart target " + name, e.getCause());
+            }
+        }, RequestAttributes.SCOPE_REQUEST);
+    }
+}
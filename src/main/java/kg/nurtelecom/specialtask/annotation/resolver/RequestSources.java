@@ -0,0 +1,140 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request snapshot of the request sources that are expensive to look up field by field.
+ * <p>
+ * Cookies and headers are scanned linearly by the servlet API, path variables live in a request attribute
+ * that has to be read and cast, and the servlet session is looked up through the session manager. Cookies and
+ * path variables are indexed into a single map the first time a field of that source is bound, headers are
+ * cached one name at a time as they are looked up, and the session is looked up once, so only the sources a
+ * binding plan actually uses are touched. The snapshot is stored in the
+ * {@link RequestsArgumentResolver#REQUEST_SOURCES_ATTRIBUTE} request attribute and shared by all
+ * {@link kg.nurtelecom.specialtask.annotation.annotations.BindRequest} parameters of the request.
+ * </p>
+ */
+final class RequestSources {
+
+    private final HttpServletRequest request;
+    private final Object uriTemplateVariables;
+    private Map<String, String> cookies;
+    private Map<String, String> headers;
+    private Map<String, String> pathVariables;
+    private HttpSession session;
+    private boolean sessionLookedUp;
+
+    private RequestSources(HttpServletRequest request, Object uriTemplateVariables) {
+        this.request = request;
+        this.uriTemplateVariables = uriTemplateVariables;
+    }
+
+    /**
+     * Returns the snapshot of a request, creating it on first use. A new snapshot is taken when the request
+     * was forwarded to a handler with other path variables.
+     *
+     * @param request the current request.
+     * @return the snapshot shared by all bindings of the request.
+     */
+    static RequestSources of(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        Object sources = request.getAttribute(RequestsArgumentResolver.REQUEST_SOURCES_ATTRIBUTE);
+        if (sources instanceof RequestSources requestSources && requestSources.request == request
+                && requestSources.uriTemplateVariables == variables) {
+            return requestSources;
+        }
+        RequestSources requestSources = new RequestSources(request, variables);
+        request.setAttribute(RequestsArgumentResolver.REQUEST_SOURCES_ATTRIBUTE, requestSources);
+        return requestSources;
+    }
+
+    /**
+     * Returns the request this snapshot was taken from.
+     *
+     * @return the request.
+     */
+    HttpServletRequest request() {
+        return request;
+    }
+
+    /**
+     * Returns the value of a cookie. When several cookies share a name, the first one wins.
+     *
+     * @param name the cookie name.
+     * @return the cookie value, or null if there is no such cookie.
+     */
+    String cookie(String name) {
+        if (cookies == null) {
+            Cookie[] requestCookies = request.getCookies();
+            if (requestCookies == null || requestCookies.length == 0) {
+                cookies = Collections.emptyMap();
+            } else {
+                cookies = new HashMap<>(requestCookies.length * 2);
+                for (Cookie cookie : requestCookies) {
+                    cookies.putIfAbsent(cookie.getName(), cookie.getValue());
+                }
+            }
+        }
+        return cookies.get(name);
+    }
+
+    /**
+     * Returns the first value of a header, matching the name case-insensitively. Only the names that are looked
+     * up are cached, under the spelling of the binding, so the other headers of the request are never copied.
+     *
+     * @param name the header name.
+     * @return the header value, or null if the header is absent.
+     */
+    String header(String name) {
+        if (headers == null) {
+            headers = new HashMap<>(8);
+        }
+        String value = headers.get(name);
+        if (value == null && !headers.containsKey(name)) {
+            value = request.getHeader(name);
+            headers.put(name, value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns an attribute of the servlet session without creating one. The session itself is looked up once
+     * per request, however many session fields are bound.
+     *
+     * @param name the attribute name.
+     * @return the attribute value, or null if the request has no session or no such attribute.
+     */
+    Object sessionAttribute(String name) {
+        if (!sessionLookedUp) {
+            session = request.getSession(false);
+            sessionLookedUp = true;
+        }
+        return session != null ? session.getAttribute(name) : null;
+    }
+
+    /**
+     * Returns the value of a URI template variable of the matched handler mapping.
+     *
+     * @param name the variable name.
+     * @return the variable value, or null if there is no such variable.
+     */
+    String pathVariable(String name) {
+        if (pathVariables == null) {
+            if (uriTemplateVariables instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, String> variables = (Map<String, String>) uriTemplateVariables;
+                pathVariables = variables;
+            } else {
+                pathVariables = Collections.emptyMap();
+            }
+        }
+        return pathVariables.get(name);
+    }
+}
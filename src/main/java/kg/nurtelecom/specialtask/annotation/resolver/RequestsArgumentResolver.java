@@ -1,19 +1,22 @@
 package kg.nurtelecom.specialtask.annotation.resolver;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.attribute.AttributeProviders;
 import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
 import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
-import jakarta.servlet.http.Cookie;
+import kg.nurtelecom.specialtask.annotation.metrics.BindingEvent;
+import kg.nurtelecom.specialtask.annotation.metrics.BindingMetrics;
+import kg.nurtelecom.specialtask.annotation.metrics.ModelMeters;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlan;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.plan.FieldBinding;
+import kg.nurtelecom.specialtask.annotation.plan.ValueConverter;
+import kg.nurtelecom.specialtask.annotation.session.HttpSessionStore;
+import kg.nurtelecom.specialtask.annotation.session.SessionStore;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.core.MethodParameter;
-import org.springframework.core.convert.ConversionService;
-import org.springframework.stereotype.Component;
-import org.springframework.util.StreamUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
@@ -21,43 +24,90 @@ import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.RecordComponent;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.logging.Logger;
+import java.util.Objects;
 
 /**
  * A custom Spring MVC HandlerMethodArgumentResolver that binds method parameters
  * annotated with {@link BindRequest} to values extracted from various parts of the HTTP request.
  * <p>
- * This resolver supports binding for both Java record types and traditional JavaBeans.
- * It retrieves values from headers, parameters, path variables, attributes, cookies, session, body, and multipart data.
- * The resolver uses a {@link ConversionService} to convert raw values into the desired target type.
+ * This resolver supports binding for both Java record types and traditional JavaBeans. It retrieves values from
+ * headers, parameters, path variables, attributes, cookies, session, body and multipart data, and finished chunked
+ * uploads from an optional {@link UploadSource}. Cookies, headers, path variables and the servlet session are read
+ * once per request through {@link RequestSources}. Session attributes are read through a {@link SessionStore}, the
+ * servlet session unless another store is configured, and attributes that are not set on the request are computed
+ * on demand by the {@link AttributeProviders}. JSON bodies are not parsed into a tree: only the declared BODY keys
+ * are streamed out of the body. A MULTIPART field may also be an {@code InputStream}, a
+ * {@code ReadableByteChannel} or a spooled {@code Path}, see {@link MultipartTargets}, so large parts are
+ * processed without being copied into memory. A {@link BulkRequest} parameter binds every line of a
+ * newline-delimited JSON body to its model type.
+ * </p>
+ * <p>
+ * Model metadata is compiled once per class into a {@link BindingPlan}, whose pre-resolved per-field converters
+ * turn raw values into the desired target type.
+ * </p>
+ * <p>
+ * Missing and unconvertible values of all fields are collected into one {@link BindingException}, which is
+ * reported as a 400 response by {@link BindingExceptionHandler}.
+ * </p>
+ * <p>
+ * A field declared as {@code Supplier<T>} is resolved on first access instead, so a handler that returns early
+ * does not pay for reading the body, multipart data or the session. When all BODY fields are lazy, the body is
+ * not read until one of them is accessed.
+ * </p>
+ * <p>
+ * Nothing is logged per field; a sampled per-binding record can be enabled through {@link BindingTracer}. Every
+ * resolution is timed through the optional {@link BindingMetrics} and recorded as a JFR {@link BindingEvent}.
+ * </p>
+ * <p>
+ * The resolver is registered by {@link kg.nurtelecom.specialtask.annotation.configs.Config} and created through
+ * {@link #builder(BindingPlanRegistry)}.
  * </p>
  *
  * @see BindRequest
  * @see RequestType
  * @see TypeOfDataRequest
  */
-@Component
 public class RequestsArgumentResolver implements HandlerMethodArgumentResolver {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
-    private static final Logger LOGGER = Logger.getLogger(RequestsArgumentResolver.class.getName());
+    /**
+     * Name of the request attribute holding the snapshot of cookies, headers, path variables and the session
+     * shared by the bindings of a request. Removing it makes the next binding read these sources again, for
+     * example after a test or benchmark changed a request it reuses.
+     */
+    public static final String REQUEST_SOURCES_ATTRIBUTE = RequestsArgumentResolver.class.getName() + ".SOURCES";
+
+    private final BindingPlanRegistry bindingPlanRegistry;
+    private final UploadSource uploadSource;
+    private final BindingTracer tracer;
+    private final BindingMetrics metrics;
+    private final MultipartTargets multipartTargets;
+    private final SessionStore sessionStore;
+    private final AttributeProviders attributeProviders;
 
-    private final ConversionService conversionService;
+    private RequestsArgumentResolver(Builder builder) {
+        this.bindingPlanRegistry = builder.bindingPlanRegistry;
+        this.uploadSource = builder.uploadSource;
+        this.tracer = builder.tracer != null ? builder.tracer : BindingTracer.disabled();
+        this.metrics = builder.metrics;
+        this.multipartTargets = builder.multipartTargets != null ? builder.multipartTargets
+                : MultipartTargets.defaults();
+        this.sessionStore = builder.sessionStore != null ? builder.sessionStore : new HttpSessionStore();
+        this.attributeProviders = builder.attributeProviders;
+    }
 
     /**
-     * Constructs a new RequestsArgumentResolver with the provided ConversionService.
+     * Starts building a RequestsArgumentResolver. Collaborators that are not set are disabled or use their
+     * defaults, see the methods of the {@link Builder}.
      *
-     * @param conversionService the ConversionService to use for converting raw values to target types.
+     * @param bindingPlanRegistry the registry providing cached binding plans for model classes.
+     * @return the builder.
      */
-    @Autowired
-    public RequestsArgumentResolver(@Lazy ConversionService conversionService) {
-        this.conversionService = conversionService;
+    public static Builder builder(BindingPlanRegistry bindingPlanRegistry) {
+        return new Builder(bindingPlanRegistry);
     }
 
     /**
@@ -71,9 +121,26 @@ public class RequestsArgumentResolver implements HandlerMethodArgumentResolver {
         return parameter.hasParameterAnnotation(BindRequest.class);
     }
 
+    /**
+     * Returns the model class bound by a {@link BindRequest} parameter: the parameter type itself,
+     * or the type argument of a {@link BulkRequest} parameter.
+     *
+     * @param parameter the {@link BindRequest} parameter.
+     * @return the model class, or null if the type argument of a {@link BulkRequest} parameter cannot be resolved.
+     */
+    @Nullable
+    public static Class<?> modelClassOf(MethodParameter parameter) {
+        if (parameter.getParameterType() == BulkRequest.class) {
+            return ResolvableType.forMethodParameter(parameter).getGeneric(0).resolve();
+        }
+        return parameter.getParameterType();
+    }
+
     /**
      * Resolves the method argument by binding request data to an instance of the parameter type.
      * This method supports both record types and traditional JavaBeans.
+     * The reflective metadata of the model is taken from the cached {@link BindingPlan},
+     * so only the request values are read per call.
      *
      * @param parameter   the method parameter to resolve.
      * @param mavContainer the ModelAndViewContainer for the current request.
@@ -86,144 +153,412 @@ public class RequestsArgumentResolver implements HandlerMethodArgumentResolver {
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
                                   NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
         HttpServletRequest request = (HttpServletRequest) webRequest.getNativeRequest();
-        Class<?> modelClass = parameter.getParameterType();
-
-        if (modelClass.isRecord()) {
-            RecordComponent[] components = modelClass.getRecordComponents();
-            Object[] args = new Object[components.length];
-            for (int i = 0; i < components.length; i++) {
-                RequestType requestType = components[i].getAnnotation(RequestType.class);
-                if (requestType != null) {
-                    String key = requestType.key();
-                    args[i] = resolveValueForType(request, requestType.value(), key, components[i].getType());
+        RequestSources sources = RequestSources.of(request);
+        if (parameter.getParameterType() == BulkRequest.class) {
+            return resolveBulkRequest(parameter, sources);
+        }
+        BindingPlan plan = bindingPlanRegistry.planFor(parameter.getParameterType());
+        List<FieldBinding> fields = plan.getFields();
+        ModelMeters meters = metrics != null ? metrics.forPlan(plan) : null;
+        BindingTrace trace = tracer.start(plan.getModelClass());
+        BindingEvent event = new BindingEvent();
+        event.begin();
+        long start = meters != null ? System.nanoTime() : 0;
+        long bodyBytes = 0;
+        boolean failed = true;
+        try {
+            Map<String, String> bodyValues = null;
+            LazyValue<Map<String, String>> lazyBody = null;
+            if (plan.getBodySelector() != null && !(request instanceof MultipartHttpServletRequest)) {
+                CountingInputStream body = new CountingInputStream(request.getInputStream());
+                if (plan.isBodyLazy()) {
+                    lazyBody = new LazyValue<>(() -> readBody(plan, body, meters));
                 } else {
-                    throw new IllegalStateException("Missing @RequestType annotation for record component: "
-                            + components[i].getName());
+                    bodyValues = readBody(plan, body, meters);
+                    bodyBytes = body.getCount();
                 }
             }
-            Class<?>[] parameterTypes = new Class<?>[components.length];
-            for (int i = 0; i < components.length; i++) {
-                parameterTypes[i] = components[i].getType();
-            }
-            Constructor<?> canonicalConstructor = modelClass.getDeclaredConstructor(parameterTypes);
-            canonicalConstructor.setAccessible(true);
-            return canonicalConstructor.newInstance(args);
-        } else {
-            Object model = modelClass.getDeclaredConstructor().newInstance();
-            Field[] fields = modelClass.getDeclaredFields();
-            for (int i = 0; i < fields.length; i++) {
-                Field field = fields[i];
-                if (field.isAnnotationPresent(RequestType.class)) {
-                    RequestType requestType = field.getAnnotation(RequestType.class);
-                    String key = requestType.key();
-                    field.setAccessible(true);
-                    Object value = resolveValueForType(request, requestType.value(), key, field.getType());
-                    field.set(model, value);
+            Object[] values = new Object[fields.size()];
+            List<BindingError> errors = null;
+            for (int i = 0; i < values.length; i++) {
+                FieldBinding field = fields.get(i);
+                Object value = field.lazy()
+                        ? lazyValue(sources, plan.getModelClass(), field, bodyValues, lazyBody, meters)
+                        : resolveValueForType(sources, field, bodyValues, trace, meters);
+                if (value instanceof BindingError error) {
+                    errors = addError(errors, error);
+                } else {
+                    values[i] = value;
                 }
             }
+            if (errors != null) {
+                throw new BindingException(plan.getModelClass(), errors);
+            }
+            Object model = plan.instantiate(values);
+            failed = false;
             return model;
+        } catch (Exception e) {
+            if (trace != null) {
+                trace.failed(e);
+            }
+            throw e;
+        } finally {
+            if (meters != null) {
+                meters.resolved(System.nanoTime() - start);
+            }
+            if (trace != null) {
+                tracer.emit(trace);
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.model = plan.getModelClass().getName();
+                event.fields = fields.size();
+                event.bodyBytes = bodyBytes;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Resolves a {@link BulkRequest} parameter. Values of all sources except BODY are resolved once here,
+     * the BODY values are selected from each line when the body is read.
+     *
+     * @param parameter the {@code BulkRequest<Model>} parameter.
+     * @param sources   the source snapshot of the current request.
+     * @return the bulk request reading the body lazily.
+     * @throws Exception if a request-level value is missing or cannot be converted.
+     */
+    private BulkRequest<Object> resolveBulkRequest(MethodParameter parameter, RequestSources sources)
+            throws Exception {
+        Class<?> modelClass = modelClassOf(parameter);
+        if (modelClass == null) {
+            throw new IllegalStateException("Missing model type argument for BulkRequest parameter "
+                    + parameter.getParameterName());
+        }
+        BindingPlan plan = bindingPlanRegistry.planFor(modelClass);
+        List<FieldBinding> fields = plan.getFields();
+        ModelMeters meters = metrics != null ? metrics.forPlan(plan) : null;
+        Object[] shared = new Object[fields.size()];
+        BindingTrace trace = tracer.start(modelClass);
+        try {
+            List<BindingError> errors = null;
+            for (int i = 0; i < shared.length; i++) {
+                FieldBinding field = fields.get(i);
+                if (field.source() != TypeOfDataRequest.BODY) {
+                    Object value = field.lazy()
+                            ? lazyValue(sources, modelClass, field, null, null, meters)
+                            : resolveValueForType(sources, field, null, trace, meters);
+                    if (value instanceof BindingError error) {
+                        errors = addError(errors, error);
+                    } else {
+                        shared[i] = value;
+                    }
+                }
+            }
+            if (errors != null) {
+                throw new BindingException(modelClass, errors);
+            }
+        } catch (Exception e) {
+            if (trace != null) {
+                trace.failed(e);
+            }
+            throw e;
+        } finally {
+            if (trace != null) {
+                tracer.emit(trace);
+            }
+        }
+        return new BulkRequest<>(sources.request().getInputStream(), (buffer, offset, length) -> {
+            Map<String, String> bodyValues = plan.getBodySelector() != null
+                    ? plan.getBodySelector().extract(buffer, offset, length)
+                    : Map.of();
+            Object[] values = shared.clone();
+            List<BindingError> errors = null;
+            for (int i = 0; i < values.length; i++) {
+                FieldBinding field = fields.get(i);
+                if (field.source() == TypeOfDataRequest.BODY) {
+                    Object value = field.lazy()
+                            ? lazyValue(sources, modelClass, field, bodyValues, null, meters)
+                            : resolveValueForType(sources, field, bodyValues, null, meters);
+                    if (value instanceof BindingError error) {
+                        errors = addError(errors, error);
+                    } else {
+                        values[i] = value;
+                    }
+                }
+            }
+            if (errors != null) {
+                throw new BindingException(modelClass, errors);
+            }
+            return plan.instantiate(values);
+        });
+    }
+
+    /**
+     * Selects the BODY values of a plan from the request body.
+     *
+     * @param plan   the plan of the model.
+     * @param body   the counting request body.
+     * @param meters the meters of the model, or null if metrics are disabled.
+     * @return the selected values by their key.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    private static Map<String, String> readBody(BindingPlan plan, CountingInputStream body, ModelMeters meters)
+            throws IOException {
+        long start = meters != null ? System.nanoTime() : 0;
+        Map<String, String> values = plan.getBodySelector().extract(body);
+        if (meters != null) {
+            meters.bodyParsed(System.nanoTime() - start, body.getCount());
         }
+        return values;
+    }
+
+    /**
+     * Creates the supplier bound to a lazy field. Its value is resolved like an eager value on first access,
+     * a missing or unconvertible value is thrown as a {@link BindingException} of that single field.
+     * Lazy fields are not part of the binding trace.
+     *
+     * @param sources    the source snapshot of the current request.
+     * @param modelClass the model class being bound.
+     * @param field      the lazy field.
+     * @param bodyValues the values selected from the JSON body, or null if the body was not read.
+     * @param lazyBody   the supplier reading the body on first access, or null if it is not read lazily.
+     * @param meters     the meters of the model, or null if metrics are disabled.
+     * @return the memoizing supplier of the value.
+     */
+    private LazyValue<Object> lazyValue(RequestSources sources, Class<?> modelClass, FieldBinding field,
+                                        Map<String, String> bodyValues, LazyValue<Map<String, String>> lazyBody,
+                                        ModelMeters meters) {
+        return new LazyValue<>(() -> {
+            Map<String, String> values = field.source() == TypeOfDataRequest.BODY && lazyBody != null
+                    ? lazyBody.get()
+                    : bodyValues;
+            Object value = resolveValueForType(sources, field, values, null, meters);
+            if (value instanceof BindingError error) {
+                throw new BindingException(modelClass, List.of(error));
+            }
+            return value;
+        });
+    }
+
+    private static List<BindingError> addError(List<BindingError> errors, BindingError error) {
+        List<BindingError> result = errors != null ? errors : new ArrayList<>();
+        result.add(error);
+        return result;
     }
 
     /**
      * Resolves a value from the HttpServletRequest based on the specified source type and key,
-     * and converts it to the target type using the ConversionService.
+     * and converts it to the target type with the pre-resolved converter of the field.
+     * Cookies, headers, path variables and the servlet session are read through the per-request
+     * {@link RequestSources}, session attributes of another {@link SessionStore} through that store,
+     * and attributes missing on the request through their {@link AttributeProviders provider}.
+     * A missing optional value resolves to the default value of the field. A missing required value or a value
+     * that cannot be converted is returned as a {@link BindingError} instead of being thrown, so the caller
+     * can collect the errors of all fields; blank text that converts to null counts as missing.
      *
-     * @param request    the HttpServletRequest from which to retrieve data.
-     * @param type       the source type (HEADER, PARAM, PATH, ATTRIBUTE, COOKIE, SESSION, BODY, or MULTIPART).
-     * @param key        the key identifying the data.
-     * @param targetType the desired target type for the data.
-     * @return the resolved and converted value.
-     * @throws Exception if the value is not found or conversion fails.
+     * @param sources    the source snapshot of the HttpServletRequest from which to retrieve data.
+     * @param field      the precompiled binding describing the source, key, target type and converter.
+     * @param bodyValues the values selected from the JSON body, or null if the body was not read.
+     * @param trace      the trace of the current binding, or null if it is not traced.
+     * @param meters     the meters of the model, or null if metrics are disabled.
+     * @return the resolved and converted value, or the {@link BindingError} of the field.
+     * @throws Exception if the source cannot be read.
      */
-    private Object resolveValueForType(HttpServletRequest request, TypeOfDataRequest type, String key, Class<?> targetType) throws Exception {
-        LOGGER.info("Getting value for key: " + key + " with type: " + type.name());
+    private Object resolveValueForType(RequestSources sources, FieldBinding field, Map<String, String> bodyValues,
+                                       BindingTrace trace, ModelMeters meters) throws Exception {
+        HttpServletRequest request = sources.request();
+        TypeOfDataRequest type = field.source();
+        String key = field.key();
+        Class<?> targetType = field.targetType();
         Object rawValue = null;
         if (type == TypeOfDataRequest.HEADER) {
-            rawValue = request.getHeader(key);
+            rawValue = sources.header(key);
         } else if (type == TypeOfDataRequest.PARAM) {
             rawValue = request.getParameter(key);
         } else if (type == TypeOfDataRequest.PATH) {
-            Object pathVarsObj = request.getAttribute("org.springframework.web.servlet.HandlerMapping.uriTemplateVariables");
-            if (pathVarsObj instanceof Map) {
-                @SuppressWarnings("unchecked")
-                Map<String, String> pathVars = (Map<String, String>) pathVarsObj;
-                rawValue = pathVars.get(key);
-            }
+            rawValue = sources.pathVariable(key);
         } else if (type == TypeOfDataRequest.ATTRIBUTE) {
-            rawValue = request.getAttribute(key);
+            rawValue = attributeProviders != null
+                    ? attributeProviders.resolve(request, key)
+                    : request.getAttribute(key);
         } else if (type == TypeOfDataRequest.COOKIE) {
-            Cookie[] cookies = request.getCookies();
-            if (cookies != null) {
-                for (int i = 0; i < cookies.length; i++) {
-                    Cookie cookie = cookies[i];
-                    if (cookie.getName().equals(key)) {
-                        rawValue = convertCookieValue(cookie.getValue(), targetType);
-                        break;
-                    }
-                }
-            }
+            rawValue = sources.cookie(key);
         } else if (type == TypeOfDataRequest.SESSION) {
-            HttpSession session = request.getSession(false);
-            if (session != null) {
-                rawValue = session.getAttribute(key);
-            }
+            rawValue = sessionStore.getClass() == HttpSessionStore.class
+                    ? sources.sessionAttribute(key)
+                    : sessionStore.getAttribute(request, key);
         } else if (type == TypeOfDataRequest.BODY) {
             if (request instanceof MultipartHttpServletRequest) {
                 rawValue = ((MultipartHttpServletRequest) request).getParameter(key);
-            } else {
-                String requestBody = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
-                if (!requestBody.isEmpty()) {
-                    JsonNode rootNode = OBJECT_MAPPER.readTree(requestBody);
-                    if (rootNode.has(key)) {
-                        rawValue = rootNode.get(key).asText();
-                    } else {
-                        throw new IllegalStateException("Key '" + key + "' not found in the request body");
-                    }
-                }
+            } else if (bodyValues != null) {
+                rawValue = bodyValues.get(key);
             }
         } else if (type == TypeOfDataRequest.MULTIPART) {
             if (request instanceof MultipartHttpServletRequest) {
                 MultipartHttpServletRequest multipartRequest = (MultipartHttpServletRequest) request;
-                if (MultipartFile.class.isAssignableFrom(targetType)) {
-                    rawValue = multipartRequest.getFile(key);
+                if (MultipartTargets.isFileTarget(targetType)) {
+                    MultipartFile file = multipartRequest.getFile(key);
+                    if (file != null) {
+                        rawValue = multipartTargets.adapt(file, targetType);
+                    }
                 } else {
                     rawValue = multipartRequest.getParameter(key);
                 }
             }
+        } else if (type == TypeOfDataRequest.UPLOAD) {
+            if (uploadSource == null) {
+                throw new IllegalStateException("No UploadSource configured for key '" + key + "'");
+            }
+            String uploadId = sources.pathVariable(key);
+            if (uploadId == null) {
+                uploadId = request.getParameter(key);
+            }
+            if (uploadId != null) {
+                rawValue = uploadSource.findUpload(uploadId);
+            }
         } else {
             throw new IllegalArgumentException("Unsupported data type: " + type);
         }
-        if (rawValue == null) {
-            throw new IllegalStateException("Value not found for key '" + key + "' with type "
-                    + targetType.getName() + " from data source " + type);
-        }
-        if (!targetType.isInstance(rawValue)) {
+        return bindValue(field, rawValue, trace, meters);
+    }
+
+    /**
+     * Converts a raw value read from the request to the target type of a field, applying its default value
+     * when the value is missing. Shared with other request stacks, which read the raw values themselves.
+     *
+     * @param field    the binding of the field.
+     * @param rawValue the value read from the request, or null if it is missing.
+     * @param meters   the meters of the model, or null if metrics are disabled.
+     * @return the converted value, or the {@link BindingError} if the value is missing or cannot be converted.
+     */
+    public static Object bindValue(FieldBinding field, @Nullable Object rawValue, @Nullable ModelMeters meters) {
+        return bindValue(field, rawValue, null, meters);
+    }
+
+    private static Object bindValue(FieldBinding field, Object rawValue, BindingTrace trace, ModelMeters meters) {
+        TypeOfDataRequest type = field.source();
+        String key = field.key();
+        Class<?> targetType = field.targetType();
+        Object value = rawValue;
+        long conversionNanos = 0;
+        if (rawValue != null && !targetType.isInstance(rawValue)) {
+            long start = trace != null ? System.nanoTime() : 0;
             try {
-                Object convertedValue = conversionService.convert(rawValue, targetType);
-                LOGGER.info("Received and converted value: " + convertedValue);
-                return convertedValue;
+                value = field.converter().convert(rawValue);
             } catch (Exception e) {
-                throw new IllegalStateException("Failed to convert value for key '" + key + "' to type "
-                        + targetType.getName(), e);
+                value = ValueConverter.INVALID;
+            }
+            if (value == ValueConverter.INVALID) {
+                if (trace != null) {
+                    trace.field(field.name(), type, key, true, System.nanoTime() - start);
+                }
+                if (meters != null) {
+                    meters.conversionFailed(type);
+                }
+                return new BindingError(field.name(), type, key, "Failed to convert value for key '" + key
+                        + "' to type " + targetType.getName());
             }
+            if (trace != null) {
+                conversionNanos = System.nanoTime() - start;
+            }
+        }
+        if (trace != null) {
+            trace.field(field.name(), type, key, value != null, conversionNanos);
+        }
+        if (value != null) {
+            return value;
         }
-        LOGGER.info("Received value: " + rawValue);
-        return rawValue;
+        if (!field.required()) {
+            return field.defaultValue();
+        }
+        if (meters != null) {
+            meters.valueMissing(type);
+        }
+        return new BindingError(field.name(), type, key, "Value not found for key '" + key + "' with type "
+                + targetType.getName() + " from data source " + type);
     }
 
     /**
-     * Converts the cookie value to the specified target type. If the target type is UUID,
-     * the value is parsed as a UUID.
-     *
-     * @param value      the cookie value as a String.
-     * @param targetType the target type for conversion.
-     * @return the converted value.
+     * Builder of a {@link RequestsArgumentResolver} with its optional collaborators.
      */
-    private Object convertCookieValue(String value, Class<?> targetType) {
-        if (UUID.class.isAssignableFrom(targetType)) {
-            return UUID.fromString(value);
+    public static final class Builder {
+
+        private final BindingPlanRegistry bindingPlanRegistry;
+        private UploadSource uploadSource;
+        private BindingTracer tracer;
+        private BindingMetrics metrics;
+        private MultipartTargets multipartTargets;
+        private SessionStore sessionStore;
+        private AttributeProviders attributeProviders;
+
+        private Builder(BindingPlanRegistry bindingPlanRegistry) {
+            this.bindingPlanRegistry = bindingPlanRegistry;
+        }
+
+        /**
+         * @param uploadSource the source of finished uploads for UPLOAD bindings, or null if not supported.
+         * @return this builder.
+         */
+        public Builder uploadSource(@Nullable UploadSource uploadSource) {
+            this.uploadSource = uploadSource;
+            return this;
+        }
+
+        /**
+         * @param tracer the sampled binding trace, or null to disable tracing.
+         * @return this builder.
+         */
+        public Builder tracer(@Nullable BindingTracer tracer) {
+            this.tracer = tracer;
+            return this;
+        }
+
+        /**
+         * @param metrics the Micrometer meters of bindings, or null to publish no metrics.
+         * @return this builder.
+         */
+        public Builder metrics(@Nullable BindingMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * @param multipartTargets the adapter of streaming MULTIPART targets, or null to spool into
+         *                         java.io.tmpdir.
+         * @return this builder.
+         */
+        public Builder multipartTargets(@Nullable MultipartTargets multipartTargets) {
+            this.multipartTargets = multipartTargets;
+            return this;
+        }
+
+        /**
+         * @param sessionStore the store of SESSION values; the servlet session through {@link HttpSessionStore}
+         *                     if not set.
+         * @return this builder.
+         */
+        public Builder sessionStore(SessionStore sessionStore) {
+            this.sessionStore = Objects.requireNonNull(sessionStore, "sessionStore");
+            return this;
+        }
+
+        /**
+         * @param attributeProviders the providers of ATTRIBUTE values not set on the request, or null to read
+         *                           request attributes only.
+         * @return this builder.
+         */
+        public Builder attributeProviders(@Nullable AttributeProviders attributeProviders) {
+            this.attributeProviders = attributeProviders;
+            return this;
+        }
+
+        /**
+         * @return the resolver with the collaborators set on this builder.
+         */
+        public RequestsArgumentResolver build() {
+            return new RequestsArgumentResolver(this);
         }
-        return conversionService.convert(value, targetType);
     }
 }
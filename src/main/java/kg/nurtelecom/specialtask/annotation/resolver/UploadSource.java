@@ -0,0 +1,22 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+/**
+ * Source of the values bound with {@link kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest#UPLOAD}.
+ * <p>
+ * The {@link RequestsArgumentResolver} reads the upload id from the request and asks this source for the
+ * handle of the finished upload, which is then converted to the declared type like any other raw value.
+ * Binding only looks the upload up; finishing it is up to the handler.
+ * </p>
+ */
+@FunctionalInterface
+public interface UploadSource {
+
+    /**
+     * Returns the handle of an upload that was already finished. The lookup must not finish an upload.
+     *
+     * @param id the upload id taken from the request.
+     * @return the upload handle, or null if no upload with this id was finished.
+     * @throws Exception if the upload cannot be looked up.
+     */
+    Object findUpload(String id) throws Exception;
+}
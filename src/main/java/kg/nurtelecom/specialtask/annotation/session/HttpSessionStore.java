@@ -0,0 +1,48 @@
+package kg.nurtelecom.specialtask.annotation.session;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link SessionStore} backed by the servlet {@link HttpSession}, the default.
+ * <p>
+ * Attributes stay on the node that created the session, so clients have to be routed back to it.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "binding.session", name = "store", havingValue = "http-session", matchIfMissing = true)
+public class HttpSessionStore implements SessionStore {
+
+    /**
+     * Returns an attribute of the current session without creating one.
+     *
+     * @param request the current request.
+     * @param name    the attribute name.
+     * @return the attribute value, or null if the request has no session or no such attribute.
+     */
+    @Override
+    public Object getAttribute(HttpServletRequest request, String name) {
+        HttpSession session = request.getSession(false);
+        return session != null ? session.getAttribute(name) : null;
+    }
+
+    /**
+     * Sets an attribute of the current session, creating the session if needed.
+     *
+     * @param request  the current request.
+     * @param response the response, unused since the servlet container sets the session cookie.
+     * @param name     the attribute name.
+     * @param value    the attribute value, or null to remove the attribute.
+     */
+    @Override
+    public void setAttribute(HttpServletRequest request, HttpServletResponse response, String name,
+                             @Nullable Object value) {
+        request.getSession().setAttribute(name, value);
+    }
+}
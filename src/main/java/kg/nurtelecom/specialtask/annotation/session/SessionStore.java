@@ -0,0 +1,37 @@
+package kg.nurtelecom.specialtask.annotation.session;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.Nullable;
+
+/**
+ * Store of the values bound with {@link kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest#SESSION}.
+ * <p>
+ * The {@link kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver} reads session attributes
+ * through this store, and handlers write them through it, so where the attributes live can be chosen per
+ * deployment: in the {@link HttpSessionStore servlet session} of one node, or in a
+ * {@link SignedCookieSessionStore signed cookie} that any node can read.
+ * </p>
+ */
+public interface SessionStore {
+
+    /**
+     * Returns a session attribute of the request.
+     *
+     * @param request the current request.
+     * @param name    the attribute name.
+     * @return the attribute value, or null if the request has no session or no such attribute.
+     */
+    @Nullable
+    Object getAttribute(HttpServletRequest request, String name);
+
+    /**
+     * Sets a session attribute, creating the session if the request has none.
+     *
+     * @param request  the current request.
+     * @param response the response that carries the session, if the store keeps it on the client.
+     * @param name     the attribute name.
+     * @param value    the attribute value, or null to remove the attribute.
+     */
+    void setAttribute(HttpServletRequest request, HttpServletResponse response, String name, @Nullable Object value);
+}
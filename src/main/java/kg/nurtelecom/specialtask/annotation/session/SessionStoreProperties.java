@@ -0,0 +1,24 @@
+package kg.nurtelecom.specialtask.annotation.session;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link SessionStore}, bound from the {@code binding.session.*} properties.
+ *
+ * @param store      where session attributes live: {@code http-session} or {@code signed-cookie}.
+ * @param cookieName the name of the signed cookie.
+ * @param secret     the HMAC key of the signed cookie, at least 32 bytes; it has to be the same on every node.
+ * @param maxAge     how long a signed cookie is valid after it was last written.
+ * @param secure     whether the signed cookie is only sent over HTTPS.
+ */
+@ConfigurationProperties("binding.session")
+public record SessionStoreProperties(
+        @DefaultValue("http-session") String store,
+        @DefaultValue("SESSION_DATA") String cookieName,
+        String secret,
+        @DefaultValue("30m") Duration maxAge,
+        @DefaultValue("false") boolean secure
+) {}
@@ -0,0 +1,212 @@
+package kg.nurtelecom.specialtask.annotation.session;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Stateless {@link SessionStore} that keeps the session attributes in an HMAC-signed cookie.
+ * <p>
+ * The cookie holds the attributes as text together with an expiry time, signed with HMAC-SHA256 under
+ * {@code binding.session.secret}. Every node sharing the secret can read the session without a server-side
+ * lookup, so no sticky routing or session replication is needed. The cookie is verified and decoded once per
+ * request, when the first attribute is read; a missing, tampered or expired cookie reads as an empty session.
+ * Writing an attribute re-signs all attributes with a new expiry into a {@code Set-Cookie} header.
+ * </p>
+ * <p>
+ * Attribute values are stored as their string form and converted back to the field type on binding.
+ * The cookie is not encrypted, so it must not hold secrets, and it has to fit the 4096 bytes browsers accept.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "binding.session", name = "store", havingValue = "signed-cookie")
+@EnableConfigurationProperties(SessionStoreProperties.class)
+public class SignedCookieSessionStore implements SessionStore {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final int MAX_COOKIE_LENGTH = 4096;
+    private static final String ATTRIBUTES = SignedCookieSessionStore.class.getName() + ".ATTRIBUTES";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SessionStoreProperties properties;
+    private final Mac prototype;
+    private final Clock clock;
+
+    /**
+     * Constructs a new SignedCookieSessionStore.
+     *
+     * @param properties the session store configuration.
+     * @throws IllegalStateException if the secret is missing or shorter than 32 bytes.
+     */
+    @Autowired
+    public SignedCookieSessionStore(SessionStoreProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    SignedCookieSessionStore(SessionStoreProperties properties, Clock clock) {
+        byte[] secret = properties.secret() != null ? properties.secret().getBytes(StandardCharsets.UTF_8) : null;
+        if (secret == null || secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("binding.session.secret must be at least " + MIN_SECRET_LENGTH
+                    + " bytes long for the signed-cookie session store");
+        }
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(secret, ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize " + ALGORITHM, e);
+        }
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns an attribute of the signed session cookie, verifying and decoding the cookie on first access.
+     *
+     * @param request the current request.
+     * @param name    the attribute name.
+     * @return the attribute value, or null if the cookie is missing, invalid, expired or has no such attribute.
+     */
+    @Override
+    public Object getAttribute(HttpServletRequest request, String name) {
+        return attributes(request).get(name);
+    }
+
+    /**
+     * Sets an attribute and writes the re-signed cookie to the response.
+     *
+     * @param request  the current request.
+     * @param response the response the cookie is written to.
+     * @param name     the attribute name.
+     * @param value    the attribute value, stored as its string form, or null to remove the attribute.
+     * @throws IllegalStateException if the signed cookie would exceed 4096 bytes.
+     */
+    @Override
+    public void setAttribute(HttpServletRequest request, HttpServletResponse response, String name,
+                             @Nullable Object value) {
+        Map<String, String> attributes = new LinkedHashMap<>(attributes(request));
+        if (value != null) {
+            attributes.put(name, value.toString());
+        } else {
+            attributes.remove(name);
+        }
+        String token = encode(attributes, clock.instant().plus(properties.maxAge()).getEpochSecond());
+        ResponseCookie cookie = ResponseCookie.from(properties.cookieName(), token)
+                .path("/")
+                .httpOnly(true)
+                .secure(properties.secure())
+                .sameSite("Lax")
+                .maxAge(properties.maxAge())
+                .build();
+        String header = cookie.toString();
+        if (header.length() > MAX_COOKIE_LENGTH) {
+            throw new IllegalStateException("Signed session cookie exceeds " + MAX_COOKIE_LENGTH + " bytes");
+        }
+        response.addHeader(HttpHeaders.SET_COOKIE, header);
+        request.setAttribute(ATTRIBUTES, Collections.unmodifiableMap(attributes));
+    }
+
+    /**
+     * Returns the verified attributes of the request, decoding the cookie once and caching the result
+     * as a request attribute.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, String> attributes(HttpServletRequest request) {
+        Object cached = request.getAttribute(ATTRIBUTES);
+        if (cached != null) {
+            return (Map<String, String>) cached;
+        }
+        Map<String, String> attributes = decode(cookie(request));
+        request.setAttribute(ATTRIBUTES, attributes);
+        return attributes;
+    }
+
+    private String cookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (properties.cookieName().equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Signs the attributes. The token is {@code payload.signature}, where the payload is the expiry in epoch
+     * seconds followed by the URL-encoded attributes, both Base64url encoded.
+     */
+    String encode(Map<String, String> attributes, long expiresAt) {
+        StringBuilder text = new StringBuilder().append(expiresAt);
+        attributes.forEach((name, value) -> text.append('&')
+                .append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                .append(URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        String payload = ENCODER.encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+        return payload + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verifies a token and decodes its attributes.
+     *
+     * @return the attributes, or an empty map if the token is missing, malformed, forged or expired.
+     */
+    Map<String, String> decode(@Nullable String token) {
+        int separator = token != null ? token.indexOf('.') : -1;
+        if (separator < 0) {
+            return Collections.emptyMap();
+        }
+        String payload = token.substring(0, separator);
+        try {
+            if (!MessageDigest.isEqual(sign(payload), DECODER.decode(token.substring(separator + 1)))) {
+                return Collections.emptyMap();
+            }
+            String[] entries = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("&");
+            if (Long.parseLong(entries[0]) <= clock.instant().getEpochSecond()) {
+                return Collections.emptyMap();
+            }
+            Map<String, String> attributes = new LinkedHashMap<>();
+            for (int i = 1; i < entries.length; i++) {
+                int equals = entries[i].indexOf('=');
+                attributes.put(URLDecoder.decode(entries[i].substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(entries[i].substring(equals + 1), StandardCharsets.UTF_8));
+            }
+            return Collections.unmodifiableMap(attributes);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private byte[] sign(String payload) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(ALGORITHM + " cannot be cloned", e);
+        }
+        return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -1,32 +1,72 @@
 package kg.nurtelecom.specialtask.controllers;
 
-import jakarta.servlet.http.HttpSession;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.resolver.BulkRequest;
+import kg.nurtelecom.specialtask.annotation.session.SessionStore;
+import kg.nurtelecom.specialtask.payload.requests.ProductBulkItem;
 import kg.nurtelecom.specialtask.payload.requests.ProductRequestParam;
 import kg.nurtelecom.specialtask.payload.requests.ProductRequestPath;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestUpload;
+import kg.nurtelecom.specialtask.payload.responses.BulkProductResult;
+import kg.nurtelecom.specialtask.storage.ChunkedUploadManager;
+import kg.nurtelecom.specialtask.storage.IncompleteUploadException;
+import kg.nurtelecom.specialtask.storage.InvalidChunkException;
+import kg.nurtelecom.specialtask.storage.UploadHandle;
+import kg.nurtelecom.specialtask.storage.UploadNotFoundException;
+import kg.nurtelecom.specialtask.storage.UploadPipeline;
+import kg.nurtelecom.specialtask.storage.UploadRejectedException;
+import kg.nurtelecom.specialtask.storage.UploadStatus;
+import kg.nurtelecom.specialtask.storage.UploadTicket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RestController
 public class MainController {
 
-    private static final String UPLOAD_DIR = "uploads";
+    private static final Logger LOGGER = Logger.getLogger(MainController.class.getName());
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final UploadPipeline uploadPipeline;
+    private final ChunkedUploadManager chunkedUploadManager;
+    private final ObjectMapper objectMapper;
+    private final SessionStore sessionStore;
+    private final int bulkBatchSize;
+
+    public MainController(UploadPipeline uploadPipeline, ChunkedUploadManager chunkedUploadManager,
+                          ObjectMapper objectMapper, SessionStore sessionStore,
+                          @Value("${bulk.batch-size:100}") int bulkBatchSize) {
+        this.uploadPipeline = uploadPipeline;
+        this.chunkedUploadManager = chunkedUploadManager;
+        this.objectMapper = objectMapper;
+        this.sessionStore = sessionStore;
+        this.bulkBatchSize = bulkBatchSize;
+    }
 
     @PostMapping("/create")
     public ResponseEntity<String> createProduct(
             @BindRequest ProductRequestParam productRequestParam) {
-        System.out.println("Received request to create a product (PARAM): " + productRequestParam);
-        saveFile(productRequestParam.multipartFile());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body("Product successfully created with quantity from parameters.");
+        LOGGER.log(Level.FINE, "Received request to create a product (PARAM): {0}", productRequestParam);
+        UploadTicket ticket = saveFile(productRequestParam.multipartFile());
+        return created(ticket, "Product successfully created with quantity from parameters.");
     }
 
 
@@ -34,31 +74,126 @@ public class MainController {
     @PostMapping("/create/{quantity}")
     public ResponseEntity<String> createProductWithPath(
             @BindRequest ProductRequestPath productRequestPath) {
-        System.out.println("Received request to create a product (PATH): " + productRequestPath);
-        saveFile(productRequestPath.multipartFile());
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body("Product successfully created with quantity from path.");
+        LOGGER.log(Level.FINE, "Received request to create a product (PATH): {0}", productRequestPath);
+        UploadTicket ticket = saveFile(productRequestPath.multipartFile());
+        return created(ticket, "Product successfully created with quantity from path.");
+    }
+
+    @PostMapping(value = "/create/bulk", consumes = NDJSON, produces = NDJSON)
+    public void createProducts(@BindRequest BulkRequest<ProductBulkItem> products, HttpServletResponse response)
+            throws Exception {
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+        products.forEach(bulkBatchSize, new BulkRequest.ItemHandler<>() {
+            @Override
+            public void handle(BulkRequest.Item<ProductBulkItem> item) throws Exception {
+                BulkProductResult result = item.isBound()
+                        ? new BulkProductResult(item.line(), "VALID", null)
+                        : new BulkProductResult(item.line(), "INVALID", item.error().getMessage());
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+
+            @Override
+            public void endBatch() throws IOException {
+                out.flush();
+            }
+        });
+    }
+
+    @PostMapping("/uploads/chunked")
+    public ResponseEntity<String> initChunkedUpload(@RequestParam String fileName, @RequestParam long size)
+            throws IOException {
+        String id = chunkedUploadManager.init(fileName, size);
+        return ResponseEntity.created(URI.create("/uploads/chunked/" + id)).body(id);
+    }
+
+    @PutMapping("/uploads/chunked/{id}")
+    public ResponseEntity<String> appendChunk(@PathVariable String id, @RequestParam long offset,
+                                              HttpServletRequest request) throws IOException {
+        chunkedUploadManager.append(id, offset, request.getInputStream());
+        return ResponseEntity.ok(chunkedUploadManager.received(id));
+    }
+
+    @GetMapping("/uploads/chunked/{id}")
+    public ResponseEntity<String> chunkedUploadStatus(@PathVariable String id) {
+        return ResponseEntity.ok(chunkedUploadManager.received(id));
+    }
+
+    @PostMapping("/uploads/chunked/{id}/complete")
+    public ResponseEntity<String> completeChunkedUpload(@PathVariable String id,
+            @BindRequest ProductRequestUpload productRequestUpload) throws IOException {
+        chunkedUploadManager.complete(id);
+        LOGGER.log(Level.FINE, "Received request to create a product (UPLOAD): {0}", productRequestUpload);
+        UploadTicket ticket = savedUpload(productRequestUpload.upload().get());
+        return created(ticket, "Product successfully created from chunked upload.");
     }
 
     @PostMapping("/init-session")
-    public ResponseEntity<String> initSession(HttpSession session) {
-        session.setAttribute("description", "Premium Product");
+    public ResponseEntity<String> initSession(HttpServletRequest request, HttpServletResponse response) {
+        sessionStore.setAttribute(request, response, "description", "Premium Product");
         return ResponseEntity.ok("Session initialized");
     }
 
-    private void saveFile(MultipartFile file) {
+    @GetMapping("/uploads/{id}")
+    public ResponseEntity<String> uploadStatus(@PathVariable String id) {
+        UploadStatus status = uploadPipeline.status(id);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status.name());
+    }
+
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<String> uploadRejected(UploadRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(UploadNotFoundException.class)
+    public ResponseEntity<String> uploadNotFound(UploadNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IncompleteUploadException.class)
+    public ResponseEntity<String> uploadIncomplete(IncompleteUploadException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    @ExceptionHandler(InvalidChunkException.class)
+    public ResponseEntity<String> invalidChunk(InvalidChunkException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    private UploadTicket saveFile(MultipartFile file) {
         if (file != null && !file.isEmpty()) {
             try {
-                Path uploadPath = Paths.get(UPLOAD_DIR);
-                if (!Files.exists(uploadPath)) {
-                    Files.createDirectories(uploadPath);
+                UploadTicket ticket = uploadPipeline.submit(file);
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "File {0} accepted with status: {1}",
+                            new Object[]{file.getOriginalFilename(), ticket.status()});
                 }
-                Path filePath = uploadPath.resolve(file.getOriginalFilename());
-                Files.write(filePath, file.getBytes());
-                System.out.println("File saved to: " + filePath.toAbsolutePath());
+                return ticket;
             } catch (IOException e) {
                 throw new RuntimeException("Failed to save file", e);
             }
         }
+        return null;
+    }
+
+    private static UploadTicket savedUpload(UploadHandle upload) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "File {0} assembled from chunks with {1} bytes",
+                    new Object[]{upload.fileName(), upload.size()});
+        }
+        return new UploadTicket(upload.id(), UploadStatus.STORED);
+    }
+
+    private static ResponseEntity<String> created(UploadTicket ticket, String body) {
+        if (ticket == null || ticket.isDone()) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(body);
+        }
+        return ResponseEntity.accepted().location(URI.create("/uploads/" + ticket.id())).body(body);
     }
-}
\ No newline at end of file
+}
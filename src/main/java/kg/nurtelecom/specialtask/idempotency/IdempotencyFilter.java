@@ -0,0 +1,203 @@
+package kg.nurtelecom.specialtask.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Filter that makes retried POST requests idempotent.
+ * <p>
+ * A request to one of the {@code idempotency.paths} that carries the {@code idempotency.header} is handled once
+ * per client, key and endpoint. The client is the authenticated principal, otherwise the session the request
+ * refers to, otherwise its remote address, so one client cannot replay another client's response by guessing
+ * its key. Behind a proxy the remote address is only the client's if forwarded headers are applied.
+ * The response of a completed request is stored in the {@link IdempotencyStore} and replayed to later duplicates
+ * with the {@code Idempotent-Replayed: true} header. A duplicate that arrives while the original is still being
+ * handled waits for its response up to {@code idempotency.wait-timeout}, and is answered with 409 Conflict if the
+ * original takes longer.
+ * </p>
+ * <p>
+ * Only 2xx responses with a body of at most {@code idempotency.max-body-size} are stored; otherwise the key is
+ * released, so the client can retry, for example after fixing a request that was rejected with 4xx. The request
+ * body is not compared between duplicates: the key alone identifies the operation, and reading the body here
+ * would defeat the streaming multipart binding.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /**
+     * Response header marking a replayed response.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.SET_COOKIE.toLowerCase());
+
+    private final IdempotencyStore store;
+    private final IdempotencyProperties properties;
+    private final List<PathPattern> paths;
+
+    /**
+     * Constructs a new IdempotencyFilter.
+     *
+     * @param store      the store of the handled requests.
+     * @param properties the idempotency configuration.
+     */
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties) {
+        this.store = store;
+        this.properties = properties;
+        this.paths = properties.paths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    /**
+     * Skips requests that are not POST requests to a deduplicated path or carry no idempotency key.
+     *
+     * @param request the current request.
+     * @return true if the request is passed on untouched.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!HttpMethod.POST.matches(request.getMethod()) || request.getHeader(properties.header()) == null) {
+            return true;
+        }
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        return paths.stream().noneMatch(pattern -> pattern.matches(path));
+    }
+
+    /**
+     * Replays the stored response of a duplicate, waits for the in-flight original, or handles the request and
+     * stores its response.
+     *
+     * @param request  the current request.
+     * @param response the current response.
+     * @param chain    the filter chain.
+     * @throws IOException      if an I/O error occurs.
+     * @throws ServletException if the request fails or the thread is interrupted while waiting.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(properties.header());
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST,
+                    properties.header() + " must be 1 to " + MAX_KEY_LENGTH + " characters long");
+            return;
+        }
+        String key = client(request) + " " + request.getMethod() + " " + request.getRequestURI() + " "
+                + idempotencyKey;
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+        while (true) {
+            IdempotencyStore.Claim claim = store.claim(key);
+            if (claim.response() != null) {
+                replay(claim.response(), response);
+                return;
+            }
+            if (claim.owner()) {
+                handle(claim, request, response, chain);
+                return;
+            }
+            StoredResponse original;
+            try {
+                original = claim.inFlight().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                response.sendError(HttpServletResponse.SC_CONFLICT,
+                        "A request with the same " + properties.header() + " is still in progress");
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the original request", e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            if (original != null) {
+                replay(original, response);
+                return;
+            }
+        }
+    }
+
+    private void handle(IdempotencyStore.Claim claim, HttpServletRequest request, HttpServletResponse response,
+                        FilterChain chain) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(request, wrapper);
+            if (wrapper.getStatus() >= 200 && wrapper.getStatus() < 300 && !request.isAsyncStarted()
+                    && wrapper.getContentSize() <= properties.maxBodySize().toBytes()) {
+                store.complete(claim, capture(wrapper));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(claim);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Identifies the client a key belongs to. The requested session id is the one the client sent, not a session
+     * created while the original request was handled, so it is the same for the original and its retries.
+     */
+    private static String client(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) {
+            return "principal:" + principal.getName();
+        }
+        String sessionId = request.getRequestedSessionId();
+        if (sessionId != null) {
+            return "session:" + sessionId;
+        }
+        return "address:" + request.getRemoteAddr();
+    }
+
+    private StoredResponse capture(ContentCachingResponseWrapper response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.putIfAbsent(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(response.getStatus(), response.getContentType(), headers,
+                response.getContentAsByteArray(), store.expiresAt());
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+}
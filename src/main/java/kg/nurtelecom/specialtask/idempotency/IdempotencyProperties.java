@@ -0,0 +1,34 @@
+package kg.nurtelecom.specialtask.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of idempotent request handling, bound from the {@code idempotency.*} properties.
+ *
+ * @param enabled        whether requests carrying an idempotency key are deduplicated.
+ * @param header         the request header holding the idempotency key.
+ * @param paths          the path patterns of the POST endpoints that are deduplicated.
+ * @param maxEntries     the maximum number of stored responses; the oldest are evicted first.
+ * @param ttl            how long a stored response is replayed.
+ * @param waitTimeout    how long a duplicate waits for the original request before it is answered with 409.
+ * @param maxBodySize    the largest response body that is stored; larger responses are not deduplicated.
+ * @param persistenceDir the directory stored responses are logged to so they survive a restart,
+ *                       or null to keep them in memory only.
+ */
+@ConfigurationProperties("idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("Idempotency-Key") String header,
+        @DefaultValue({"/create", "/create/{quantity}"}) List<String> paths,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("30s") Duration waitTimeout,
+        @DefaultValue("64KB") DataSize maxBodySize,
+        Path persistenceDir
+) {}
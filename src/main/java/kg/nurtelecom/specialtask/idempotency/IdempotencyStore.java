@@ -0,0 +1,335 @@
+package kg.nurtelecom.specialtask.idempotency;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded store of the responses of requests carrying an idempotency key.
+ * <p>
+ * Completed responses are kept in memory for {@code idempotency.ttl}, at most {@code idempotency.max-entries} of
+ * them, evicting the oldest first. A request that is still being handled is tracked as in flight, so a concurrent
+ * duplicate waits for its response instead of doing the work again. If the original request fails or its response
+ * cannot be stored, the waiting duplicates race to handle the request themselves.
+ * </p>
+ * <p>
+ * With {@code idempotency.persistence-dir} set, completed responses are also appended to a log in that directory
+ * and loaded again on startup, dropping the expired ones. The log is rewritten once it holds more than twice as
+ * many entries as the store keeps. The log is a cache: it is not flushed to the storage device, and a record torn
+ * by a crash ends loading without failing the startup.
+ * </p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyStore implements DisposableBean {
+
+    private static final Logger LOGGER = Logger.getLogger(IdempotencyStore.class.getName());
+    private static final String LOG_FILE = "idempotency.log";
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final Clock clock;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> completed;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock logLock = new ReentrantLock();
+    private final Path logFile;
+    private FileChannel log;
+    private int logEntries;
+
+    /**
+     * Constructs a new IdempotencyStore, loading the persisted responses if persistence is enabled.
+     *
+     * @param properties the idempotency configuration.
+     * @throws IOException if the persisted responses cannot be loaded or the log cannot be opened.
+     */
+    @Autowired
+    public IdempotencyStore(IdempotencyProperties properties) throws IOException {
+        this(properties, Clock.systemUTC());
+    }
+
+    IdempotencyStore(IdempotencyProperties properties, Clock clock) throws IOException {
+        this.clock = clock;
+        this.ttlMillis = properties.ttl().toMillis();
+        this.maxEntries = Math.max(1, properties.maxEntries());
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+        if (properties.persistenceDir() != null) {
+            Files.createDirectories(properties.persistenceDir());
+            this.logFile = properties.persistenceDir().resolve(LOG_FILE);
+            load();
+            compact();
+        } else {
+            this.logFile = null;
+        }
+    }
+
+    /**
+     * Claims a key for a request.
+     *
+     * @param key the idempotency key, scoped to the client and the endpoint.
+     * @return the stored response of a completed duplicate, the in-flight original to wait for, or the claim
+     * to handle the request under.
+     */
+    public Claim claim(String key) {
+        StoredResponse response = find(key);
+        if (response != null) {
+            return new Claim(key, response, null, false);
+        }
+        CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> original = inFlight.putIfAbsent(key, future);
+        if (original != null) {
+            return new Claim(key, null, original, false);
+        }
+        response = find(key);
+        if (response != null) {
+            inFlight.remove(key, future);
+            future.complete(response);
+            return new Claim(key, response, null, false);
+        }
+        return new Claim(key, null, future, true);
+    }
+
+    /**
+     * Stores the response of a claimed request and hands it to the waiting duplicates.
+     *
+     * @param claim    the claim of the request.
+     * @param response the response to store.
+     */
+    public void complete(Claim claim, StoredResponse response) {
+        completed.put(claim.key(), new Entry(claim.key(), response));
+        if (logFile != null) {
+            append(claim.key(), response);
+        }
+        inFlight.remove(claim.key(), claim.inFlight());
+        claim.inFlight().complete(response);
+    }
+
+    /**
+     * Releases a claimed request whose response is not stored. Waiting duplicates handle the request again.
+     *
+     * @param claim the claim of the request.
+     */
+    public void release(Claim claim) {
+        inFlight.remove(claim.key(), claim.inFlight());
+        claim.inFlight().complete(null);
+    }
+
+    /**
+     * Returns the time at which a response stored now expires.
+     *
+     * @return the expiry in epoch milliseconds.
+     */
+    public long expiresAt() {
+        return clock.millis() + ttlMillis;
+    }
+
+    /**
+     * Returns the number of stored responses, including expired ones that were not evicted yet.
+     *
+     * @return the number of stored responses.
+     */
+    public int size() {
+        return completed.size();
+    }
+
+    private StoredResponse find(String key) {
+        Entry entry = completed.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.response().expiresAt() <= clock.millis()) {
+            completed.remove(key, entry);
+            return null;
+        }
+        return entry.response();
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(logFile)) {
+            return;
+        }
+        long now = clock.millis();
+        try (InputStream in = Files.newInputStream(logFile);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            while (true) {
+                Entry entry = read(data);
+                if (entry.response().expiresAt() > now) {
+                    completed.remove(entry.key());
+                    completed.put(entry.key(), entry);
+                }
+            }
+        } catch (EOFException e) {
+            LOGGER.log(Level.FINE, "Loaded {0} idempotent responses", completed.size());
+        }
+    }
+
+    private void append(String key, StoredResponse response) {
+        logLock.lock();
+        try {
+            ByteBuffer record = ByteBuffer.wrap(write(new Entry(key, response)));
+            while (record.hasRemaining()) {
+                log.write(record);
+            }
+            if (++logEntries > COMPACTION_THRESHOLD && logEntries > 2 * maxEntries) {
+                compact();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to persist idempotent response " + key, e);
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with the stored responses that have not expired.
+     */
+    private void compact() throws IOException {
+        logLock.lock();
+        try {
+            List<Entry> entries;
+            synchronized (completed) {
+                entries = new ArrayList<>(completed.values());
+            }
+            long now = clock.millis();
+            Path temp = logFile.resolveSibling(LOG_FILE + ".tmp");
+            int written = 0;
+            // The rewritten log stays open across the move, positioned at its end, and replaces the old one only
+            // once it is in place, so a failure leaves the old log open and appends keep working.
+            FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                for (Entry entry : entries) {
+                    if (entry.response().expiresAt() > now) {
+                        ByteBuffer record = ByteBuffer.wrap(write(entry));
+                        while (record.hasRemaining()) {
+                            channel.write(record);
+                        }
+                        written++;
+                    }
+                }
+                Files.move(temp, logFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            FileChannel previous = log;
+            log = channel;
+            logEntries = written;
+            if (previous != null) {
+                previous.close();
+            }
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    private static byte[] write(Entry entry) throws IOException {
+        StoredResponse response = entry.response();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(response.body().length + 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(entry.key());
+        out.writeLong(response.expiresAt());
+        out.writeShort(response.status());
+        out.writeUTF(response.contentType() != null ? response.contentType() : "");
+        out.writeShort(response.headers().size());
+        for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+            out.writeUTF(header.getKey());
+            out.writeShort(header.getValue().size());
+            for (String value : header.getValue()) {
+                out.writeUTF(value);
+            }
+        }
+        out.writeInt(response.body().length);
+        out.write(response.body());
+        return bytes.toByteArray();
+    }
+
+    private static Entry read(DataInputStream in) throws IOException {
+        String key = in.readUTF();
+        long expiresAt = in.readLong();
+        int status = in.readShort();
+        String contentType = in.readUTF();
+        int headerCount = in.readShort();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            String name = in.readUTF();
+            int valueCount = in.readShort();
+            List<String> values = new ArrayList<>(valueCount);
+            for (int j = 0; j < valueCount; j++) {
+                values.add(in.readUTF());
+            }
+            headers.put(name, values);
+        }
+        byte[] body = new byte[in.readInt()];
+        in.readFully(body);
+        return new Entry(key, new StoredResponse(status, contentType.isEmpty() ? null : contentType, headers, body,
+                expiresAt));
+    }
+
+    /**
+     * Closes the log.
+     *
+     * @throws IOException if the log cannot be closed.
+     */
+    @Override
+    public void destroy() throws IOException {
+        logLock.lock();
+        try {
+            if (log != null) {
+                log.close();
+            }
+        } finally {
+            logLock.unlock();
+        }
+    }
+
+    /**
+     * Result of {@link #claim(String)}.
+     *
+     * @param key       the claimed key.
+     * @param response  the stored response of a completed duplicate, or null.
+     * @param inFlight  the future completed with the response of the request handling the key, or null if the
+     *                  response is already stored; completed with null if that request stored no response.
+     * @param owner     whether the caller handles the request and has to complete or release the claim.
+     */
+    public record Claim(String key, StoredResponse response, CompletableFuture<StoredResponse> inFlight,
+                        boolean owner) {}
+
+    private record Entry(String key, StoredResponse response) {}
+}
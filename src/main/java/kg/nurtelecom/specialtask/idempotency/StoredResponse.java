@@ -0,0 +1,16 @@
+package kg.nurtelecom.specialtask.idempotency;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a completed request, replayed to duplicates with the same idempotency key.
+ *
+ * @param status      the status code.
+ * @param contentType the content type, or null if the response had none.
+ * @param headers     the response headers other than the content type, length and cookies.
+ * @param body        the response body.
+ * @param expiresAt   the epoch millisecond after which the response is no longer replayed.
+ */
+public record StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body,
+                             long expiresAt) {}
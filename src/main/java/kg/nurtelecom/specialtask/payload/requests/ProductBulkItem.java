@@ -0,0 +1,29 @@
+package kg.nurtelecom.specialtask.payload.requests;
+
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+
+import java.util.UUID;
+
+public record ProductBulkItem(
+        @RequestType(value = TypeOfDataRequest.BODY, key = "username")
+        String name,
+
+        @RequestType(value = TypeOfDataRequest.SESSION, key = "description")
+        String description,
+
+        @RequestType(value = TypeOfDataRequest.BODY, key = "quantity")
+        Integer quantity,
+
+        @RequestType(value = TypeOfDataRequest.BODY, key = "productId")
+        UUID productId,
+
+        @RequestType(value = TypeOfDataRequest.COOKIE, key = "userId")
+        UUID userId,
+
+        @RequestType(value = TypeOfDataRequest.HEADER, key = "X-Custom-Header")
+        String httpHeader,
+
+        @RequestType(value = TypeOfDataRequest.ATTRIBUTE, key = "customAttribute")
+        String customAttribute
+) {}
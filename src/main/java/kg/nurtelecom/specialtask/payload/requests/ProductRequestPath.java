@@ -21,6 +21,9 @@ public record ProductRequestPath(
         @RequestType(value = TypeOfDataRequest.HEADER, key = "X-Custom-Header")
         String httpHeader,
 
+        @RequestType(value = TypeOfDataRequest.HEADER, key = "Idempotency-Key", required = false)
+        String idempotencyKey,
+
         @RequestType(value = TypeOfDataRequest.MULTIPART, key = "file")
         MultipartFile multipartFile,
 
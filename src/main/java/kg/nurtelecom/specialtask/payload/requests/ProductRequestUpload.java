@@ -0,0 +1,34 @@
+package kg.nurtelecom.specialtask.payload.requests;
+
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.storage.UploadHandle;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public record ProductRequestUpload(
+        @RequestType(value = TypeOfDataRequest.PARAM, key = "username")
+        String name,
+
+        @RequestType(value = TypeOfDataRequest.SESSION, key = "description")
+        String description,
+
+        @RequestType(value = TypeOfDataRequest.PARAM, key = "quantity")
+        Integer quantity,
+
+        @RequestType(value = TypeOfDataRequest.PARAM, key = "productId")
+        UUID productId,
+
+        @RequestType(value = TypeOfDataRequest.COOKIE, key = "userId")
+        UUID userId,
+
+        @RequestType(value = TypeOfDataRequest.HEADER, key = "X-Custom-Header")
+        String httpHeader,
+
+        @RequestType(value = TypeOfDataRequest.UPLOAD, key = "id")
+        Supplier<UploadHandle> upload,
+
+        @RequestType(value = TypeOfDataRequest.ATTRIBUTE, key = "customAttribute")
+        String customAttribute
+) {}
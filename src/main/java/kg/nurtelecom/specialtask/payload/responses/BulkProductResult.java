@@ -0,0 +1,7 @@
+package kg.nurtelecom.specialtask.payload.responses;
+
+public record BulkProductResult(
+        long line,
+        String status,
+        String error
+) {}
@@ -0,0 +1,330 @@
+package kg.nurtelecom.specialtask.storage;
+
+import kg.nurtelecom.specialtask.annotation.resolver.UploadSource;
+import kg.nurtelecom.specialtask.storage.UploadStorage.StagedUpload;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Resumable uploads that are sent in chunks instead of one multipart request.
+ * <p>
+ * {@link #init(String, long)} creates a part file in the upload directory. Each chunk is written at its
+ * offset with positional {@link FileChannel} writes through a pooled direct buffer, so chunks may arrive in any
+ * order and in parallel, and a failed chunk can be resent without restarting the upload. The received byte
+ * ranges are tracked per upload and can be queried with {@link #received(String)} to resume.
+ * {@link #complete(String)} checks that every byte was received, flushes the part file and commits it through
+ * {@link UploadStorage}, so the finished file is stored exactly like a multipart upload.
+ * </p>
+ * <p>
+ * Uploads are kept in memory only. Unfinished uploads expire after {@code upload.chunked.expire-after}
+ * without a chunk; a background thread removes them and deletes their part files. Completed uploads are kept
+ * for binding, see {@link #findUpload(String)}, which only looks them up and never completes an upload.
+ * </p>
+ */
+@Service
+public class ChunkedUploadManager implements UploadSource, DisposableBean {
+
+    private static final Logger LOGGER = Logger.getLogger(ChunkedUploadManager.class.getName());
+    private static final long MIN_EXPIRY_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final long MAX_EXPIRY_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final UploadStorage uploadStorage;
+    private final UploadProperties properties;
+    private final Map<String, ChunkedUpload> uploads = new ConcurrentHashMap<>();
+    private final Map<String, UploadHandle> completed;
+    private final ScheduledExecutorService expiry;
+
+    /**
+     * Constructs a new ChunkedUploadManager and schedules the removal of expired uploads every half of
+     * {@code upload.chunked.expire-after}, but at least every minute.
+     *
+     * @param uploadStorage the storage that commits finished uploads.
+     * @param properties    the upload configuration.
+     */
+    public ChunkedUploadManager(UploadStorage uploadStorage, UploadProperties properties) {
+        this.uploadStorage = uploadStorage;
+        this.properties = properties;
+        int retention = Math.max(1, properties.chunked().completedRetention());
+        this.completed = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UploadHandle> eldest) {
+                return size() > retention;
+            }
+        });
+        long interval = Math.min(MAX_EXPIRY_INTERVAL,
+                Math.max(MIN_EXPIRY_INTERVAL, properties.chunked().expireAfter().toMillis() / 2));
+        this.expiry = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "chunked-upload-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.expiry.scheduleWithFixedDelay(this::expire, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a chunked upload.
+     *
+     * @param fileName the file name the upload will be stored under.
+     * @param size     the total size of the upload in bytes.
+     * @return the id of the upload.
+     * @throws IOException           if the file name is not valid or the part file cannot be created.
+     * @throws InvalidChunkException if the size is negative or exceeds {@code upload.chunked.max-size}.
+     */
+    public String init(String fileName, long size) throws IOException {
+        if (size < 0 || size > properties.chunked().maxSize().toBytes()) {
+            throw new InvalidChunkException("Upload size must be between 0 and "
+                    + properties.chunked().maxSize().toBytes() + " bytes: " + size);
+        }
+        String name = UploadStorage.fileName(fileName);
+        String id = UUID.randomUUID().toString();
+        Files.createDirectories(properties.dir());
+        Path part = properties.dir().resolve(".chunked-" + id + ".part");
+        FileChannel channel = FileChannel.open(part,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        uploads.put(id, new ChunkedUpload(name, size, part, channel));
+        return id;
+    }
+
+    /**
+     * Writes a chunk of an upload at the given offset. Chunks may overlap, be sent again and arrive concurrently.
+     *
+     * @param id     the upload id.
+     * @param offset the position of the first byte of the chunk.
+     * @param chunk  the chunk content; it is read to the end but not closed.
+     * @return the number of bytes written.
+     * @throws IOException             if the chunk cannot be read or written.
+     * @throws UploadNotFoundException if the upload does not exist, has expired or was completed.
+     * @throws InvalidChunkException   if the chunk does not fit into the declared upload size.
+     */
+    public long append(String id, long offset, InputStream chunk) throws IOException {
+        ChunkedUpload upload = upload(id);
+        if (offset < 0 || offset > upload.size) {
+            throw new InvalidChunkException("Chunk offset " + offset + " is outside of the upload size "
+                    + upload.size);
+        }
+        upload.lock.readLock().lock();
+        try {
+            if (uploads.get(id) != upload) {
+                throw new UploadNotFoundException("Unknown chunked upload: " + id);
+            }
+            return write(upload, offset, chunk);
+        } finally {
+            upload.lock.readLock().unlock();
+        }
+    }
+
+    private long write(ChunkedUpload upload, long offset, InputStream chunk) throws IOException {
+        ReadableByteChannel source = Channels.newChannel(chunk);
+        ByteBuffer buffer = uploadStorage.acquireBuffer();
+        long position = offset;
+        try {
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                if (position + buffer.remaining() > upload.size) {
+                    throw new InvalidChunkException("Chunk at offset " + offset
+                            + " exceeds the upload size " + upload.size);
+                }
+                while (buffer.hasRemaining()) {
+                    position += upload.channel.write(buffer, position);
+                }
+                buffer.clear();
+            }
+        } finally {
+            uploadStorage.releaseBuffer(buffer);
+            if (position > offset) {
+                upload.received(offset, position);
+            }
+        }
+        return position - offset;
+    }
+
+    /**
+     * Returns the byte ranges of an upload received so far.
+     *
+     * @param id the upload id.
+     * @return the received ranges as {@code start-end} with an exclusive end, separated by commas.
+     * @throws UploadNotFoundException if the upload does not exist, has expired or was completed.
+     */
+    public String received(String id) {
+        return upload(id).ranges();
+    }
+
+    /**
+     * Finishes an upload and stores the assembled file. Completing an upload again returns the same handle.
+     *
+     * @param id the upload id.
+     * @return the handle of the stored upload.
+     * @throws IOException                if the assembled file cannot be stored.
+     * @throws UploadNotFoundException    if the upload does not exist or has expired.
+     * @throws IncompleteUploadException  if some bytes of the upload were not received yet.
+     */
+    public UploadHandle complete(String id) throws IOException {
+        UploadHandle handle = completed.get(id);
+        if (handle != null) {
+            return handle;
+        }
+        ChunkedUpload upload = upload(id);
+        upload.lock.writeLock().lock();
+        try {
+            handle = completed.get(id);
+            if (handle != null) {
+                return handle;
+            }
+            if (uploads.get(id) != upload) {
+                throw new UploadNotFoundException("Unknown chunked upload: " + id);
+            }
+            if (!upload.isComplete()) {
+                throw new IncompleteUploadException("Upload " + id + " has received " + upload.ranges()
+                        + " of " + upload.size + " bytes");
+            }
+            try {
+                upload.channel.force(true);
+                upload.channel.close();
+                StagedUpload staged = uploadStorage.stage(upload.part, upload.name);
+                Path stored = uploadStorage.commit(staged);
+                uploadStorage.syncDirectories(List.of(stored));
+                handle = new UploadHandle(id, upload.name, stored, upload.size);
+            } catch (IOException | RuntimeException e) {
+                uploads.remove(id);
+                abort(upload);
+                throw e;
+            }
+            completed.put(id, handle);
+            uploads.remove(id);
+            return handle;
+        } finally {
+            upload.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the completed upload bound with
+     * {@link kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest#UPLOAD}. Binding never completes
+     * an upload; that is the explicit {@link #complete(String)} step.
+     *
+     * @param id the upload id taken from the request.
+     * @return the handle of the stored upload, or null if no upload with this id was completed.
+     */
+    @Override
+    public UploadHandle findUpload(String id) {
+        return completed.get(id);
+    }
+
+    /**
+     * Stops the expiry thread, then closes and deletes the part files of all unfinished uploads.
+     */
+    @Override
+    public void destroy() {
+        expiry.shutdownNow();
+        uploads.values().forEach(this::abort);
+        uploads.clear();
+    }
+
+    private ChunkedUpload upload(String id) {
+        ChunkedUpload upload = uploads.get(id);
+        if (upload == null) {
+            throw new UploadNotFoundException("Unknown chunked upload: " + id);
+        }
+        return upload;
+    }
+
+    /**
+     * Removes the unfinished uploads that received no chunk within {@code upload.chunked.expire-after}
+     * and deletes their part files. Uploads that are receiving a chunk or being completed are skipped.
+     */
+    void expire() {
+        long deadline = System.nanoTime() - properties.chunked().expireAfter().toNanos();
+        uploads.values().removeIf(upload -> {
+            if (upload.lastWrite - deadline >= 0 || !upload.lock.writeLock().tryLock()) {
+                return false;
+            }
+            try {
+                abort(upload);
+                return true;
+            } finally {
+                upload.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void abort(ChunkedUpload upload) {
+        try {
+            upload.channel.close();
+            Files.deleteIfExists(upload.part);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete part file " + upload.part, e);
+        }
+    }
+
+    /**
+     * State of an unfinished upload. Received ranges are kept merged, so a complete upload is a single range.
+     * Chunks are written under the read lock, so they may arrive in parallel, while completion and expiry close
+     * the part file under the write lock; a chunk that arrives afterwards finds the upload gone. A lock is used
+     * rather than the monitor, which would pin a virtual thread to its carrier for the duration of the I/O.
+     */
+    private static final class ChunkedUpload {
+        private final String name;
+        private final long size;
+        private final Path part;
+        private final FileChannel channel;
+        private final TreeMap<Long, Long> ranges = new TreeMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile long lastWrite = System.nanoTime();
+
+        private ChunkedUpload(String name, long size, Path part, FileChannel channel) {
+            this.name = name;
+            this.size = size;
+            this.part = part;
+            this.channel = channel;
+        }
+
+        private synchronized void received(long start, long end) {
+            Map.Entry<Long, Long> before = ranges.floorEntry(start);
+            if (before != null && before.getValue() >= start) {
+                start = before.getKey();
+                end = Math.max(end, before.getValue());
+            }
+            for (Map.Entry<Long, Long> next = ranges.ceilingEntry(start);
+                 next != null && next.getKey() <= end; next = ranges.ceilingEntry(start)) {
+                end = Math.max(end, next.getValue());
+                ranges.remove(next.getKey());
+            }
+            ranges.put(start, end);
+            lastWrite = System.nanoTime();
+        }
+
+        private synchronized boolean isComplete() {
+            return size == 0 || ranges.size() == 1 && ranges.firstKey() == 0 && ranges.firstEntry().getValue() == size;
+        }
+
+        private synchronized String ranges() {
+            return ranges.entrySet().stream()
+                    .map(range -> range.getKey() + "-" + range.getValue())
+                    .collect(Collectors.joining(","));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package kg.nurtelecom.specialtask.storage;
+
+/**
+ * Thrown when a chunked upload is completed before all of its bytes were received.
+ */
+public class IncompleteUploadException extends RuntimeException {
+
+    /**
+     * Constructs a new IncompleteUploadException.
+     *
+     * @param message the detail message.
+     */
+    public IncompleteUploadException(String message) {
+        super(message);
+    }
+}
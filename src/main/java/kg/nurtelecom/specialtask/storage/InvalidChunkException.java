@@ -0,0 +1,17 @@
+package kg.nurtelecom.specialtask.storage;
+
+/**
+ * Thrown when a chunked upload is started with a size outside of the allowed range, or a chunk is sent
+ * at an offset or with a length that does not fit into the declared upload size.
+ */
+public class InvalidChunkException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidChunkException.
+     *
+     * @param message the detail message.
+     */
+    public InvalidChunkException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package kg.nurtelecom.specialtask.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Handle of a finished chunked upload, bound into models with
+ * {@link kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest#UPLOAD}.
+ *
+ * @param id       the upload id.
+ * @param fileName the file name the upload was stored under.
+ * @param path     the stored file, or its blob in a content-addressed upload directory.
+ * @param size     the size of the upload in bytes.
+ */
+public record UploadHandle(String id, String fileName, Path path, long size) {}
@@ -0,0 +1,199 @@
+package kg.nurtelecom.specialtask.storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index of a content-addressed upload directory, mapping file names to the SHA-256 hash of their content.
+ * <p>
+ * Blobs are stored once per hash under {@code blobs/<first two hex digits>/<hash>}. The index is kept in memory
+ * and persisted as an append-only log of {@code <hash> <name>} lines in the {@code index} file. Later lines
+ * override earlier ones; the log is rewritten once it holds more than twice as many lines as live entries.
+ * </p>
+ * <p>
+ * The index counts the names pointing at each blob and deletes a blob when its last name is pointed elsewhere.
+ * Blobs are moved into place and deleted under the same lock as the index, so a blob is never removed while an
+ * upload of the same content is being committed. A blob moved into place by a process that stopped before
+ * writing its index line is not referenced by any name and stays on disk; it is reused when the same content is
+ * uploaded again.
+ * </p>
+ */
+public class UploadIndex {
+
+    private static final String INDEX_FILE = "index";
+    private static final String BLOB_DIR = "blobs";
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private final Path indexFile;
+    private final Path blobDir;
+    private final Map<String, String> hashes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> references = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private FileChannel log;
+    private int logEntries;
+
+    /**
+     * Opens the index of an upload directory, loading existing entries.
+     *
+     * @param dir the upload directory.
+     * @throws IOException if the index cannot be read or opened for appending.
+     */
+    public UploadIndex(Path dir) throws IOException {
+        this.indexFile = dir.resolve(INDEX_FILE);
+        this.blobDir = dir.resolve(BLOB_DIR);
+        Files.createDirectories(blobDir);
+        if (Files.exists(indexFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    int separator = line.indexOf(' ');
+                    if (separator > 0) {
+                        hashes.put(line.substring(separator + 1), line.substring(0, separator));
+                        logEntries++;
+                    }
+                }
+            }
+        }
+        for (String hash : hashes.values()) {
+            references.merge(hash, 1, Integer::sum);
+        }
+        this.log = openLog();
+    }
+
+    /**
+     * Returns the path of the blob with the given content hash.
+     *
+     * @param hash the hex-encoded SHA-256 hash of the content.
+     * @return the blob path, which may not exist yet.
+     */
+    public Path blob(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Returns the content hash stored for a file name.
+     *
+     * @param name the file name.
+     * @return the hash, or null if no file with this name was stored.
+     */
+    public String hash(String name) {
+        return hashes.get(name);
+    }
+
+    /**
+     * Returns the blob holding the content of a file name.
+     *
+     * @param name the file name.
+     * @return the blob path, or null if no file with this name was stored.
+     */
+    public Path resolve(String name) {
+        String hash = hashes.get(name);
+        return hash == null ? null : blob(hash);
+    }
+
+    /**
+     * Moves a staged upload into the blob of its content hash and points a file name at it. When the blob
+     * already exists the staged file is deleted instead. The blob the name pointed at before is deleted if no
+     * other name points at it. Nothing is written to the log when the name already has this hash.
+     *
+     * @param name   the file name.
+     * @param hash   the hex-encoded SHA-256 hash of the content.
+     * @param staged the temporary file holding the content.
+     * @return the blob path.
+     * @throws IOException if the blob cannot be moved into place or the index log cannot be written.
+     */
+    public Path store(String name, String hash, Path staged) throws IOException {
+        Path blob = blob(hash);
+        lock.lock();
+        try {
+            boolean moved = false;
+            if (Files.exists(blob)) {
+                Files.delete(staged);
+            } else {
+                Files.createDirectories(blob.getParent());
+                Files.move(staged, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                moved = true;
+            }
+            String previous = hashes.get(name);
+            if (hash.equals(previous)) {
+                return blob;
+            }
+            try {
+                ByteBuffer line = StandardCharsets.UTF_8.encode(hash + ' ' + name + '\n');
+                while (line.hasRemaining()) {
+                    log.write(line);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (moved && !references.containsKey(hash)) {
+                    Files.deleteIfExists(blob);
+                }
+                throw e;
+            }
+            hashes.put(name, hash);
+            references.merge(hash, 1, Integer::sum);
+            if (previous != null && references.merge(previous, -1, Integer::sum) == 0) {
+                references.remove(previous);
+                Files.deleteIfExists(blob(previous));
+            }
+            if (++logEntries > COMPACTION_THRESHOLD && logEntries > 2 * hashes.size()) {
+                compact();
+            }
+            return blob;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the index log to the storage device.
+     *
+     * @throws IOException if the log cannot be flushed.
+     */
+    public void sync() throws IOException {
+        lock.lock();
+        try {
+            log.force(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void compact() throws IOException {
+        Path temp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+        // As in the idempotency log, the rewritten log replaces the open one only once it is in place.
+        FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            for (Map.Entry<String, String> entry : hashes.entrySet()) {
+                ByteBuffer line = StandardCharsets.UTF_8.encode(entry.getValue() + ' ' + entry.getKey() + '\n');
+                while (line.hasRemaining()) {
+                    channel.write(line);
+                }
+            }
+            Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        FileChannel previous = log;
+        log = channel;
+        logEntries = hashes.size();
+        previous.close();
+    }
+
+    private FileChannel openLog() throws IOException {
+        return FileChannel.open(indexFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,16 @@
+package kg.nurtelecom.specialtask.storage;
+
+/**
+ * Thrown when a chunked upload does not exist or has expired.
+ */
+public class UploadNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new UploadNotFoundException.
+     *
+     * @param message the detail message.
+     */
+    public UploadNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,318 @@
+package kg.nurtelecom.specialtask.storage;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kg.nurtelecom.specialtask.storage.UploadStorage.StagedUpload;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pipeline that finishes uploads on dedicated writer threads, so request threads do not wait
+ * for disk writes.
+ * <p>
+ * The request thread first reserves a slot of the bounded queue, and an upload that finds the queue full is
+ * rejected with an {@link UploadRejectedException} before anything is written. It then only hands the part over
+ * from the container (see {@link UploadStorage#handOff(MultipartFile)}), which detaches it from the request and
+ * is a rename when the container spooled the part to disk on the same file system. Writer threads take uploads
+ * from the queue in batches of up to {@code upload.async.fsync-batch-size}, stage them (hashing the content of
+ * a content-addressed directory), optionally flush them to the storage device, and move them to their final
+ * names. A slot is released once its upload is stored or failed, so the queue capacity also bounds the handed
+ * over files on disk. A batch that fails unexpectedly is marked as failed without stopping its writer thread.
+ * The status of recent uploads can be polled with {@link #status(String)}.
+ * </p>
+ * <p>
+ * When the pipeline is disabled, uploads are stored synchronously and the returned ticket is already done.
+ * </p>
+ */
+@Service
+public class UploadPipeline implements DisposableBean {
+
+    private static final Logger LOGGER = Logger.getLogger(UploadPipeline.class.getName());
+
+    private final UploadStorage uploadStorage;
+    private final UploadProperties.Async properties;
+    private final BlockingQueue<Task> queue;
+    private final Semaphore slots;
+    private final Map<String, UploadStatus> statuses;
+    private final List<Thread> writers = new ArrayList<>();
+    private final DistributionSummary uploadBytes;
+    private final Timer storeTimer;
+    private final Timer stageTimer;
+    private final Timer commitTimer;
+
+    /**
+     * Constructs a new UploadPipeline without metrics and starts its writer threads when the pipeline is enabled.
+     *
+     * @param uploadStorage the storage that stages and commits uploads.
+     * @param properties    the upload configuration.
+     */
+    public UploadPipeline(UploadStorage uploadStorage, UploadProperties properties) {
+        this(uploadStorage, properties, null);
+    }
+
+    /**
+     * Constructs a new UploadPipeline and starts its writer threads when the pipeline is enabled.
+     * <p>
+     * With a registry, {@code upload.bytes} records the size of accepted uploads and {@code upload.write} the
+     * write latency, tagged by {@code phase}: {@code store} for synchronous uploads, {@code stage} for the hand-over
+     * on the request thread and {@code commit} for a writer batch of asynchronous uploads.
+     * </p>
+     *
+     * @param uploadStorage the storage that stages and commits uploads.
+     * @param properties    the upload configuration.
+     * @param registry      the registry upload metrics are published to, or null to publish none.
+     */
+    @Autowired
+    public UploadPipeline(UploadStorage uploadStorage, UploadProperties properties, @Nullable MeterRegistry registry) {
+        this.uploadStorage = uploadStorage;
+        this.properties = properties.async();
+        int capacity = Math.max(1, this.properties.queueCapacity());
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.slots = new Semaphore(capacity);
+        int retention = Math.max(1, this.properties.statusRetention());
+        this.statuses = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UploadStatus> eldest) {
+                return size() > retention;
+            }
+        });
+        if (registry != null) {
+            this.uploadBytes = DistributionSummary.builder("upload.bytes")
+                    .description("Size of accepted uploads")
+                    .baseUnit("bytes")
+                    .register(registry);
+            this.storeTimer = writeTimer(registry, "store");
+            this.stageTimer = writeTimer(registry, "stage");
+            this.commitTimer = writeTimer(registry, "commit");
+        } else {
+            this.uploadBytes = null;
+            this.storeTimer = null;
+            this.stageTimer = null;
+            this.commitTimer = null;
+        }
+        if (this.properties.enabled()) {
+            for (int i = 0; i < Math.max(1, this.properties.writerThreads()); i++) {
+                Thread writer = new Thread(this::write, "upload-writer-" + i);
+                writer.setDaemon(true);
+                writer.start();
+                writers.add(writer);
+            }
+        }
+    }
+
+    /**
+     * Accepts an uploaded file. With the pipeline enabled the upload is queued for a writer thread,
+     * otherwise it is stored before this method returns.
+     *
+     * @param file the uploaded file.
+     * @return the ticket of the upload.
+     * @throws IOException             if the upload has no valid file name or cannot be handed over or stored.
+     * @throws UploadRejectedException if the queue is full.
+     */
+    public UploadTicket submit(MultipartFile file) throws IOException {
+        String id = UUID.randomUUID().toString();
+        long start = System.nanoTime();
+        if (!properties.enabled()) {
+            uploadStorage.store(file);
+            record(storeTimer, start);
+            recordBytes(file);
+            return new UploadTicket(id, UploadStatus.STORED);
+        }
+        String name = UploadStorage.fileName(file.getOriginalFilename());
+        if (!slots.tryAcquire()) {
+            throw new UploadRejectedException("Upload queue is full");
+        }
+        Path temp;
+        try {
+            temp = uploadStorage.handOff(file);
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+        record(stageTimer, start);
+        statuses.put(id, UploadStatus.PENDING);
+        queue.add(new Task(id, temp, name));
+        recordBytes(file);
+        return new UploadTicket(id, UploadStatus.PENDING);
+    }
+
+    /**
+     * Returns the status of a recent upload.
+     *
+     * @param id the upload identifier from its ticket.
+     * @return the status, or null if the upload is unknown or its status was evicted.
+     */
+    public UploadStatus status(String id) {
+        return statuses.get(id);
+    }
+
+    private void write() {
+        int batchSize = properties.fsync() ? Math.max(1, properties.fsyncBatchSize()) : 1;
+        List<Task> batch = new ArrayList<>(batchSize);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Failed to write a batch of " + batch.size() + " uploads", e);
+                    batch.stream().filter(task -> statuses.get(task.id()) != UploadStatus.STORED)
+                            .forEach(this::fail);
+                } finally {
+                    // Slots are held until the temporary files of the batch are stored or deleted, so the queue
+                    // capacity also bounds the handed over files on disk.
+                    slots.release(batch.size());
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<Task> batch) {
+        long start = System.nanoTime();
+        List<Task> stored = commit(stage(batch));
+        record(commitTimer, start);
+        stored.forEach(task -> statuses.replace(task.id(), UploadStatus.STORED));
+    }
+
+    /**
+     * Stages the handed over uploads of a batch. Uploads that cannot be staged are marked as failed right away.
+     *
+     * @return the staged uploads.
+     */
+    private List<Task> stage(List<Task> batch) {
+        List<Task> staged = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            try {
+                staged.add(task.staged(uploadStorage.stage(task.temp(), task.name())));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to stage upload " + task.name(), e);
+                fail(task);
+            }
+        }
+        return staged;
+    }
+
+    /**
+     * Flushes and commits a batch. Failed uploads are marked as failed right away.
+     *
+     * @return the uploads that were stored.
+     */
+    private List<Task> commit(List<Task> batch) {
+        List<StagedUpload> uploads = batch.stream().map(Task::upload).toList();
+        try {
+            if (properties.fsync()) {
+                uploadStorage.sync(uploads);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to flush uploads", e);
+            batch.forEach(this::fail);
+            return List.of();
+        }
+        List<Task> committed = new ArrayList<>(batch.size());
+        List<Path> stored = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            try {
+                stored.add(uploadStorage.commit(task.upload()));
+                committed.add(task);
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to store upload " + task.upload().target(), e);
+                fail(task);
+            }
+        }
+        if (properties.fsync()) {
+            try {
+                uploadStorage.syncDirectories(stored);
+            } catch (IOException | RuntimeException e) {
+                // The files are already in place and readable, only their directory entries may not be durable
+                // yet. Reporting them as failed would make clients upload data that is stored.
+                LOGGER.log(Level.WARNING, "Failed to flush the directories of " + stored.size()
+                        + " stored uploads", e);
+            }
+        }
+        return committed;
+    }
+
+    private static Timer writeTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("upload.write")
+                .description("Write latency of uploads")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long start) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void recordBytes(MultipartFile file) {
+        if (uploadBytes != null) {
+            uploadBytes.record(file.getSize());
+        }
+    }
+
+    private void fail(Task task) {
+        statuses.replace(task.id(), UploadStatus.FAILED);
+        try {
+            Files.deleteIfExists(task.temp());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to delete staged upload " + task.temp(), e);
+        }
+    }
+
+    /**
+     * Stops the writer threads and deletes the temporary files of the uploads still in the queue,
+     * which are marked as failed.
+     */
+    @Override
+    public void destroy() {
+        writers.forEach(Thread::interrupt);
+        List<Task> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        slots.release(pending.size());
+        pending.forEach(this::fail);
+    }
+
+    /**
+     * Upload waiting for a writer.
+     *
+     * @param id     the upload identifier.
+     * @param temp   the temporary file the upload was handed over to.
+     * @param name   the file name the upload is stored under.
+     * @param upload the staged upload, or null until a writer staged it.
+     */
+    private record Task(String id, Path temp, String name, StagedUpload upload) {
+
+        Task(String id, Path temp, String name) {
+            this(id, temp, name, null);
+        }
+
+        Task staged(StagedUpload upload) {
+            return new Task(id, temp, name, upload);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package kg.nurtelecom.specialtask.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration of the upload storage, bound from the {@code upload.*} properties.
+ *
+ * @param dir               the directory uploaded files are stored in.
+ * @param bufferSize        the size of the direct buffers used to copy upload streams to disk.
+ * @param bufferPoolSize    the maximum number of direct buffers kept for reuse.
+ * @param containerTransfer whether to let the servlet container move its spooled part file into place
+ *                          instead of copying the part stream.
+ * @param contentAddressed  whether uploads are stored once per distinct content, see {@link UploadIndex}.
+ * @param async             the configuration of the asynchronous upload pipeline.
+ * @param chunked           the configuration of resumable chunked uploads.
+ */
+@ConfigurationProperties("upload")
+public record UploadProperties(
+        @DefaultValue("uploads") Path dir,
+        @DefaultValue("64KB") DataSize bufferSize,
+        @DefaultValue("16") int bufferPoolSize,
+        @DefaultValue("true") boolean containerTransfer,
+        @DefaultValue("false") boolean contentAddressed,
+        @DefaultValue Async async,
+        @DefaultValue Chunked chunked
+) {
+
+    /**
+     * Configuration of the asynchronous upload pipeline, bound from the {@code upload.async.*} properties.
+     *
+     * @param enabled         whether uploads are finished by writer threads instead of the request thread.
+     * @param queueCapacity   the maximum number of uploads waiting for a writer; further uploads are rejected.
+     * @param writerThreads   the number of writer threads.
+     * @param fsync           whether stored files are flushed to the storage device before they are reported
+     *                        as stored.
+     * @param fsyncBatchSize  the maximum number of queued uploads a writer flushes together.
+     * @param statusRetention the number of most recent upload statuses kept for polling.
+     */
+    public record Async(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("256") int queueCapacity,
+            @DefaultValue("2") int writerThreads,
+            @DefaultValue("false") boolean fsync,
+            @DefaultValue("32") int fsyncBatchSize,
+            @DefaultValue("10000") int statusRetention
+    ) {}
+
+    /**
+     * Configuration of resumable chunked uploads, bound from the {@code upload.chunked.*} properties.
+     *
+     * @param maxSize            the maximum size of a chunked upload.
+     * @param expireAfter        how long an unfinished upload is kept after its last chunk.
+     * @param completedRetention the number of most recent completed uploads kept for binding.
+     */
+    public record Chunked(
+            @DefaultValue("10GB") DataSize maxSize,
+            @DefaultValue("1h") Duration expireAfter,
+            @DefaultValue("10000") int completedRetention
+    ) {}
+}
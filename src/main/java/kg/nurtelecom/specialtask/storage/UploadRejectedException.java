@@ -0,0 +1,16 @@
+package kg.nurtelecom.specialtask.storage;
+
+/**
+ * Thrown when the {@link UploadPipeline} queue is full and an upload cannot be accepted.
+ */
+public class UploadRejectedException extends RuntimeException {
+
+    /**
+     * Constructs a new UploadRejectedException.
+     *
+     * @param message the detail message.
+     */
+    public UploadRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package kg.nurtelecom.specialtask.storage;
+
+/**
+ * Completion status of an upload accepted by the {@link UploadPipeline}.
+ */
+public enum UploadStatus {
+
+    /**
+     * The upload is queued or being written.
+     */
+    PENDING,
+
+    /**
+     * The upload has been moved to its final location.
+     */
+    STORED,
+
+    /**
+     * The upload could not be stored.
+     */
+    FAILED
+}
@@ -0,0 +1,326 @@
+package kg.nurtelecom.specialtask.storage;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Persists uploaded files to the upload directory without buffering them in the heap.
+ * <p>
+ * Each upload is first written to a temporary file in the upload directory and then atomically moved
+ * to its final name, so readers never observe a partially written file. By default the servlet container
+ * is asked to transfer its spooled part file, which is usually a rename. Otherwise the part stream is
+ * copied through a pooled direct buffer of {@link UploadProperties#bufferSize()} bytes, keeping heap usage
+ * per upload constant regardless of the file size.
+ * </p>
+ * <p>
+ * With {@code upload.content-addressed} the content is hashed while it is staged and stored once per distinct
+ * hash, see {@link UploadIndex}. Re-uploading known content then only updates the index.
+ * </p>
+ */
+@Service
+@EnableConfigurationProperties(UploadProperties.class)
+public class UploadStorage {
+
+    private final UploadProperties properties;
+    private final Queue<ByteBuffer> buffers;
+    private final UploadIndex index;
+
+    /**
+     * Constructs a new UploadStorage.
+     *
+     * @param properties the upload configuration.
+     * @throws IOException if the index of a content-addressed upload directory cannot be opened.
+     */
+    public UploadStorage(UploadProperties properties) throws IOException {
+        this.properties = properties;
+        this.buffers = new ArrayBlockingQueue<>(Math.max(1, properties.bufferPoolSize()));
+        this.index = properties.contentAddressed() ? new UploadIndex(properties.dir()) : null;
+    }
+
+    /**
+     * Returns the index of the content-addressed upload directory.
+     *
+     * @return the index, or null if uploads are stored under their file names.
+     */
+    public UploadIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Stores the uploaded file under its original file name, replacing an existing file with the same name.
+     *
+     * @param file the uploaded file.
+     * @return the path of the stored file.
+     * @throws IOException if the file cannot be written.
+     */
+    public Path store(MultipartFile file) throws IOException {
+        StagedUpload upload = stage(file);
+        try {
+            return commit(upload);
+        } finally {
+            discard(upload);
+        }
+    }
+
+    /**
+     * Writes the uploaded file to a temporary file in the upload directory. The staged file no longer
+     * depends on the request and can be committed later from another thread.
+     *
+     * @param file the uploaded file.
+     * @return the staged upload.
+     * @throws IOException if the file cannot be written.
+     */
+    public StagedUpload stage(MultipartFile file) throws IOException {
+        Path uploadDir = properties.dir();
+        Files.createDirectories(uploadDir);
+        String name = fileName(file.getOriginalFilename());
+        Path temp = uploadDir.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        MessageDigest digest = index != null ? sha256() : null;
+        try {
+            if (properties.containerTransfer()) {
+                file.transferTo(temp.toAbsolutePath().toFile());
+                if (digest != null) {
+                    hash(temp, digest);
+                }
+            } else {
+                copy(file, temp, digest);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return staged(temp, name, digest);
+    }
+
+    /**
+     * Hands the uploaded file over from the servlet container to a temporary file in the upload directory,
+     * so it outlives the request. For a part the container spooled to disk this is usually a rename; a part
+     * below {@code spring.servlet.multipart.file-size-threshold} is written out of memory. The file is not
+     * hashed; pass it to {@link #stage(Path, String)} to stage it.
+     *
+     * @param file the uploaded file.
+     * @return the temporary file holding the upload.
+     * @throws IOException if the file cannot be transferred.
+     */
+    public Path handOff(MultipartFile file) throws IOException {
+        Path uploadDir = properties.dir();
+        Files.createDirectories(uploadDir);
+        Path temp = uploadDir.resolve(".upload-" + UUID.randomUUID() + ".tmp");
+        try {
+            file.transferTo(temp.toAbsolutePath().toFile());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        return temp;
+    }
+
+    /**
+     * Stages a file that was already written to the upload directory, such as an assembled chunked upload.
+     *
+     * @param temp the file in the upload directory.
+     * @param name the file name the upload is stored under.
+     * @return the staged upload, to be passed to {@link #commit(StagedUpload)}.
+     * @throws IOException if the name is not a valid file name or the file cannot be hashed.
+     */
+    StagedUpload stage(Path temp, String name) throws IOException {
+        MessageDigest digest = null;
+        if (index != null) {
+            digest = sha256();
+            hash(temp, digest);
+        }
+        return staged(temp, fileName(name), digest);
+    }
+
+    private StagedUpload staged(Path temp, String name, MessageDigest digest) {
+        if (digest == null) {
+            return new StagedUpload(temp, properties.dir().resolve(name), name, null);
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+        return new StagedUpload(temp, index.blob(hash), name, hash);
+    }
+
+    /**
+     * Atomically moves a staged upload to its final name, replacing an existing file with the same name.
+     * In a content-addressed upload directory the upload is moved to its blob unless a blob with the same
+     * content already exists, in which case only the index is updated, see {@link UploadIndex#store}.
+     *
+     * @param upload the staged upload.
+     * @return the path of the stored file or blob.
+     * @throws IOException if the file cannot be moved.
+     */
+    public Path commit(StagedUpload upload) throws IOException {
+        if (upload.hash() == null) {
+            return Files.move(upload.temp(), upload.target(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return index.store(upload.name(), upload.hash(), upload.temp());
+    }
+
+    /**
+     * Flushes the content of staged uploads to the storage device.
+     *
+     * @param uploads the staged uploads to flush.
+     * @throws IOException if a file cannot be flushed.
+     */
+    public void sync(Collection<StagedUpload> uploads) throws IOException {
+        for (StagedUpload upload : uploads) {
+            try (FileChannel channel = FileChannel.open(upload.temp(), StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+        }
+    }
+
+    /**
+     * Flushes the directories of committed uploads and the index, making the names of the uploads durable.
+     * Platforms that cannot open directories for flushing are ignored.
+     *
+     * @param stored the paths returned by {@link #commit(StagedUpload)}.
+     * @throws IOException if the index cannot be flushed.
+     */
+    public void syncDirectories(Collection<Path> stored) throws IOException {
+        for (Path directory : stored.stream().map(Path::getParent).distinct().toList()) {
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // not supported on this platform
+            }
+        }
+        if (index != null) {
+            index.sync();
+        }
+    }
+
+    /**
+     * Deletes the temporary file of a staged upload if it still exists.
+     *
+     * @param upload the staged upload.
+     * @throws IOException if the file cannot be deleted.
+     */
+    public void discard(StagedUpload upload) throws IOException {
+        Files.deleteIfExists(upload.temp());
+    }
+
+    private void copy(MultipartFile file, Path temp, MessageDigest digest) throws IOException {
+        try (InputStream in = file.getInputStream();
+             ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            if (source instanceof FileChannel fileSource && digest == null) {
+                long size = fileSource.size();
+                for (long position = 0; position < size; ) {
+                    long transferred = target.transferFrom(fileSource, position, size - position);
+                    if (transferred == 0) {
+                        // The source shrank after its size was read; retrying would never make progress.
+                        throw new EOFException("Upload source truncated at " + position + " of " + size + " bytes");
+                    }
+                    position += transferred;
+                }
+            } else {
+                copy(source, target, digest);
+            }
+        }
+    }
+
+    private void copy(ReadableByteChannel source, FileChannel target, MessageDigest digest) throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        try {
+            while (source.read(buffer) >= 0) {
+                buffer.flip();
+                if (digest != null) {
+                    digest.update(buffer.duplicate());
+                }
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                buffer.clear();
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private void hash(Path file, MessageDigest digest) throws IOException {
+        ByteBuffer buffer = acquireBuffer();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } finally {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Takes a direct buffer from the pool, allocating a new one if the pool is empty.
+     *
+     * @return a cleared direct buffer, to be returned with {@link #releaseBuffer(ByteBuffer)}.
+     */
+    ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = buffers.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect((int) properties.bufferSize().toBytes());
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers beyond the pool size are left to the garbage collector.
+     *
+     * @param buffer the buffer taken with {@link #acquireBuffer()}.
+     */
+    void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        buffers.offer(buffer);
+    }
+
+    /**
+     * Upload written to a temporary file that has not been moved to its final name yet.
+     *
+     * @param temp   the temporary file in the upload directory.
+     * @param target the final path of the upload, or of its blob in a content-addressed upload directory.
+     * @param name   the file name of the upload.
+     * @param hash   the hex-encoded SHA-256 hash of the content, or null if uploads are not content-addressed.
+     */
+    public record StagedUpload(Path temp, Path target, String name, String hash) {}
+
+    /**
+     * Returns the file name part of the original file name, so a client cannot write outside the upload directory.
+     */
+    static String fileName(String originalFilename) throws IOException {
+        Path name = originalFilename == null || originalFilename.isBlank()
+                ? null
+                : Path.of(originalFilename.replace('\\', '/')).getFileName();
+        if (name == null || name.toString().equals(".") || name.toString().equals("..")
+                || name.toString().chars().anyMatch(Character::isISOControl)) {
+            throw new IOException("Uploaded file has no valid file name: " + originalFilename);
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package kg.nurtelecom.specialtask.storage;
+
+/**
+ * Receipt for an upload accepted by the {@link UploadPipeline}.
+ *
+ * @param id     the identifier under which the status can be polled.
+ * @param status the status at the time the ticket was issued.
+ */
+public record UploadTicket(String id, UploadStatus status) {
+
+    /**
+     * Returns whether the upload was already finished when the ticket was issued.
+     *
+     * @return true if the upload is no longer pending.
+     */
+    public boolean isDone() {
+        return status != UploadStatus.PENDING;
+    }
+}
@@ -0,0 +1,150 @@
+package kg.nurtelecom.specialtask.annotation.attribute;
+
+import jakarta.servlet.http.HttpServletRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class AttributeProvidersTests {
+
+    private final AtomicInteger tenantLookups = new AtomicInteger();
+    private final AtomicInteger profileLookups = new AtomicInteger();
+    private final MutableClock clock = new MutableClock();
+    private final AttributeProviders providers = new AttributeProviders(List.of(
+            provider("tenant", tenantLookups, null),
+            provider("profile", profileLookups, "X-User")),
+            new AttributeCacheProperties(100, Duration.ofMinutes(5)), clock);
+    private final RequestsArgumentResolver resolver = RequestsArgumentResolver.builder(
+            new BindingPlanRegistry(new DefaultConversionService())).attributeProviders(providers).build();
+
+    @Test
+    void computesOnlyRequestedKeysOncePerRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        TenantModel first = (TenantModel) resolver.resolveArgument(parameter(), null,
+                new ServletWebRequest(request), null);
+        TenantModel second = (TenantModel) resolver.resolveArgument(parameter(), null,
+                new ServletWebRequest(request), null);
+
+        assertThat(first.tenant()).isEqualTo("tenant-1");
+        assertThat(first.tenantAgain()).isEqualTo("tenant-1");
+        assertThat(second.tenant()).isEqualTo("tenant-1");
+        assertThat(tenantLookups).hasValue(1);
+        assertThat(profileLookups).hasValue(0);
+
+        resolver.resolveArgument(parameter(), null, new ServletWebRequest(new MockHttpServletRequest()), null);
+        assertThat(tenantLookups).hasValue(2);
+    }
+
+    @Test
+    void sharesValuesOfEqualInputsBetweenRequestsUntilTheyExpire() throws Exception {
+        assertThat(providers.resolve(request("alice"), "profile")).isEqualTo("profile-1");
+        assertThat(providers.resolve(request("alice"), "profile")).isEqualTo("profile-1");
+        assertThat(providers.resolve(request("bob"), "profile")).isEqualTo("profile-2");
+        assertThat(profileLookups).hasValue(2);
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertThat(providers.resolve(request("alice"), "profile")).isEqualTo("profile-3");
+        assertThat(profileLookups).hasValue(3);
+    }
+
+    @Test
+    void prefersRequestAttributesAndRejectsDuplicateKeys() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("tenant", "explicit");
+
+        assertThat(providers.resolve(request, "tenant")).isEqualTo("explicit");
+        assertThat(providers.resolve(request, "unknown")).isNull();
+        assertThat(providers.provides("tenant")).isTrue();
+        assertThat(providers.provides("unknown")).isFalse();
+        assertThat(tenantLookups).hasValue(0);
+        assertThatIllegalStateException().isThrownBy(() -> new AttributeProviders(
+                        List.of(provider("tenant", tenantLookups, null), provider("tenant", tenantLookups, null)),
+                        new AttributeCacheProperties(100, Duration.ofMinutes(5)), clock))
+                .withMessageContaining("tenant");
+    }
+
+    private static AttributeProvider provider(String key, AtomicInteger lookups, String inputHeader) {
+        return new AttributeProvider() {
+            @Override
+            public String key() {
+                return key;
+            }
+
+            @Override
+            public Object compute(HttpServletRequest request) {
+                return key + "-" + lookups.incrementAndGet();
+            }
+
+            @Override
+            public Object cacheKey(HttpServletRequest request) {
+                return inputHeader != null ? request.getHeader(inputHeader) : null;
+            }
+        };
+    }
+
+    private static MockHttpServletRequest request(String user) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User", user);
+        return request;
+    }
+
+    private static MethodParameter parameter() throws NoSuchMethodException {
+        return new MethodParameter(AttributeProvidersTests.class.getDeclaredMethod("handle", TenantModel.class), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static void handle(@BindRequest TenantModel model) {
+    }
+
+    record TenantModel(
+            @RequestType(value = TypeOfDataRequest.ATTRIBUTE, key = "tenant")
+            String tenant,
+
+            @RequestType(value = TypeOfDataRequest.ATTRIBUTE, key = "tenant")
+            String tenantAgain
+    ) {}
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
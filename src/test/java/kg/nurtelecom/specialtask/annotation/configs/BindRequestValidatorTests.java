@@ -0,0 +1,102 @@
+package kg.nurtelecom.specialtask.annotation.configs;
+
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.UploadSource;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BindRequestValidatorTests {
+
+    private final BindingPlanRegistry registry = new BindingPlanRegistry(new DefaultConversionService());
+    private final StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+    private final BindRequestValidator validator = new BindRequestValidator(
+            beanFactory.getBeanProvider(RequestMappingHandlerMapping.class),
+            registry, new DefaultConversionService(), beanFactory.getBeanProvider(UploadSource.class));
+
+    @Test
+    void compilesPlansOfValidParameters() throws Exception {
+        List<String> problems = new ArrayList<>();
+
+        int parameters = validator.validate(Map.of(
+                RequestMappingInfo.paths("/create/{quantity}").build(), handler("path", ProductRequestPath.class)),
+                problems);
+
+        assertThat(parameters).isEqualTo(1);
+        assertThat(problems).isEmpty();
+        assertThat(registry.getPlans()).hasSize(1);
+    }
+
+    @Test
+    void reportsEveryInvalidParameter() throws Exception {
+        List<String> problems = new ArrayList<>();
+
+        validator.validate(Map.of(
+                RequestMappingInfo.paths("/create").build(), handler("path", ProductRequestPath.class),
+                RequestMappingInfo.paths("/items").build(), handler("unannotated", Unannotated.class),
+                RequestMappingInfo.paths("/orders/{id}").build(), handler("inconvertible", Inconvertible.class)),
+                problems);
+
+        assertThat(problems).hasSize(4).anySatisfy(problem -> assertThat(problem)
+                        .contains("ProductRequestPath.quantity reads path variable 'quantity'"))
+                .anySatisfy(problem -> assertThat(problem).contains("Missing @RequestType annotation"))
+                .anySatisfy(problem -> assertThat(problem).contains("Inconvertible.owner has no converter"))
+                .anySatisfy(problem -> assertThat(problem).contains("no UploadSource is configured"));
+    }
+
+    @Test
+    void registersReflectionHintsForModelsAndBinders() {
+        RuntimeHints hints = new RuntimeHints();
+
+        BindRequestAotProcessor.registerHints(hints, BindRequestAotProcessor.models(Handlers.class));
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(ProductRequestPath.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Unannotated.class)).accepts(hints);
+        assertThat(hints.reflection().getTypeHint(
+                TypeReference.of(ProductRequestPath.class.getName() + "$Binder")))
+                .isNotNull();
+    }
+
+    private static HandlerMethod handler(String methodName, Class<?> type) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getDeclaredMethod(methodName, type));
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Handlers {
+
+        void path(@BindRequest ProductRequestPath path) {
+        }
+
+        void unannotated(@BindRequest Unannotated model) {
+        }
+
+        void inconvertible(@BindRequest Inconvertible model) {
+        }
+    }
+
+    record Unannotated(@RequestType(value = TypeOfDataRequest.PARAM, key = "name") String name, String other) {
+    }
+
+    record Inconvertible(
+            @RequestType(value = TypeOfDataRequest.PATH, key = "id") String id,
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "owner") Runnable owner,
+            @RequestType(value = TypeOfDataRequest.UPLOAD, key = "id") Object upload
+    ) {
+    }
+}
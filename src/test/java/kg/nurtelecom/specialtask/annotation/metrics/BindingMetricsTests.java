@@ -0,0 +1,107 @@
+package kg.nurtelecom.specialtask.annotation.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.RequestsArgumentResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class BindingMetricsTests {
+
+    private static final String BODY = "{\"username\": \"TestProduct\", \"quantity\": \"many\"}";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RequestsArgumentResolver resolver = RequestsArgumentResolver.builder(
+            new BindingPlanRegistry(new DefaultConversionService())).metrics(new BindingMetrics(registry)).build();
+
+    @Test
+    void publishesResolveBodyAndErrorMeters() throws Exception {
+        resolver.resolveArgument(parameter("body", BodyModel.class), null, new ServletWebRequest(jsonRequest()), null);
+        assertThatIllegalStateException().isThrownBy(() -> resolver.resolveArgument(
+                parameter("quantity", QuantityModel.class), null, new ServletWebRequest(jsonRequest()), null));
+        assertThatIllegalStateException().isThrownBy(() -> resolver.resolveArgument(
+                parameter("header", HeaderModel.class), null,
+                new ServletWebRequest(new MockHttpServletRequest()), null));
+
+        String bodyModel = BodyModel.class.getName();
+        assertThat(registry.get("binding.resolve").tag("model", bodyModel).timer().count()).isEqualTo(1);
+        assertThat(registry.get("binding.body.parse").tag("model", bodyModel).timer().count()).isEqualTo(1);
+        assertThat(registry.get("binding.body.size").tag("model", bodyModel).summary().totalAmount())
+                .isEqualTo(BODY.length());
+        assertThat(registry.get("binding.conversion.failures")
+                .tags("model", QuantityModel.class.getName(), "source", "BODY").counter().count()).isEqualTo(1);
+        assertThat(registry.get("binding.missing.values")
+                .tags("model", HeaderModel.class.getName(), "source", "HEADER").counter().count()).isEqualTo(1);
+        assertThat(registry.get("binding.resolve").tag("model", HeaderModel.class.getName()).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordsJfrEventPerResolution() throws Exception {
+        Path dump = Files.createTempFile("binding", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("kg.nurtelecom.specialtask.Binding").withThreshold(Duration.ZERO);
+            recording.start();
+            resolver.resolveArgument(parameter("body", BodyModel.class), null,
+                    new ServletWebRequest(jsonRequest()), null);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("model")).isEqualTo(BodyModel.class.getName());
+        assertThat(events.get(0).getLong("bodyBytes")).isEqualTo(BODY.length());
+        assertThat(events.get(0).getBoolean("failed")).isFalse();
+    }
+
+    private static MockHttpServletRequest jsonRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
+        request.setContentType("application/json");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static MethodParameter parameter(String methodName, Class<?> type) throws NoSuchMethodException {
+        return new MethodParameter(BindingMetricsTests.class.getDeclaredMethod(methodName, type), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static void body(@BindRequest BodyModel model) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void quantity(@BindRequest QuantityModel model) {
+    }
+
+    @SuppressWarnings("unused")
+    private static void header(@BindRequest HeaderModel model) {
+    }
+
+    record BodyModel(@RequestType(value = TypeOfDataRequest.BODY, key = "username") String name) {
+    }
+
+    record QuantityModel(@RequestType(value = TypeOfDataRequest.BODY, key = "quantity") Integer quantity) {
+    }
+
+    record HeaderModel(@RequestType(value = TypeOfDataRequest.HEADER, key = "X-Custom-Header") String header) {
+    }
+}
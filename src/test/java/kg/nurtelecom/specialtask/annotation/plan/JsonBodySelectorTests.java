@@ -0,0 +1,72 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonBodySelectorTests {
+
+    @Test
+    void extractsTopLevelAndPointerKeys() throws IOException {
+        JsonBodySelector selector = new JsonBodySelector(List.of("username", "/order/items/1/sku", "/order/id"));
+
+        Map<String, String> values = selector.extract(json("""
+                {"ignored": {"deep": [1, 2, {"x": "y"}]},
+                 "username": "TestProduct",
+                 "order": {"id": 42, "items": [{"sku": "A-1"}, {"sku": "B-2"}]}}
+                """));
+
+        assertThat(values).containsOnly(
+                Map.entry("username", "TestProduct"),
+                Map.entry("/order/items/1/sku", "B-2"),
+                Map.entry("/order/id", "42"));
+    }
+
+    @Test
+    void returnsContainersAsJsonAndSkipsNulls() throws IOException {
+        JsonBodySelector selector = new JsonBodySelector(List.of("/order", "/order/id", "missing"));
+
+        Map<String, String> values = selector.extract(json("""
+                {"order": {"id": 7}, "missing": null}
+                """));
+
+        assertThat(values).containsOnly(Map.entry("/order", "{\"id\":7}"), Map.entry("/order/id", "7"));
+    }
+
+    @Test
+    void stopsReadingOnceAllKeysAreFound() throws IOException {
+        JsonBodySelector selector = new JsonBodySelector(List.of("username"));
+        byte[] head = "{\"username\": \"first\", \"rest\": [".getBytes(StandardCharsets.UTF_8);
+        long limit = 64L * 1024 * 1024;
+        long[] consumed = new long[1];
+        InputStream body = new InputStream() {
+            @Override
+            public int read() {
+                if (consumed[0] >= limit) {
+                    return -1;
+                }
+                long position = consumed[0]++;
+                return position < head.length ? head[(int) position] : (position % 2 == 0 ? '1' : ',');
+            }
+        };
+
+        assertThat(selector.extract(body)).containsOnly(Map.entry("username", "first"));
+        assertThat(consumed[0]).isLessThan(1024 * 1024);
+    }
+
+    @Test
+    void returnsNoValuesForEmptyBody() throws IOException {
+        assertThat(new JsonBodySelector(List.of("username")).extract(json(""))).isEmpty();
+    }
+
+    private static InputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package kg.nurtelecom.specialtask.annotation.plan;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValueConvertersTests {
+
+    private final DefaultConversionService conversionService = new DefaultConversionService();
+
+    @Test
+    void parsesCommonTypesWithoutTheConversionService() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        assertThat(ValueConverters.forType(int.class, conversionService).convert(" 42 ")).isEqualTo(42);
+        assertThat(ValueConverters.forType(Long.class, conversionService).convert("-7")).isEqualTo(-7L);
+        assertThat(ValueConverters.forType(boolean.class, conversionService).convert("on")).isEqualTo(true);
+        assertThat(ValueConverters.forType(Double.class, conversionService).convert("1.5")).isEqualTo(1.5);
+        assertThat(ValueConverters.forType(UUID.class, conversionService).convert(id.toString())).isEqualTo(id);
+        assertThat(ValueConverters.forType(Color.class, conversionService).convert("RED")).isEqualTo(Color.RED);
+        assertThat(ValueConverters.forType(Integer.class, conversionService).convert("0x1F")).isEqualTo(31);
+        assertThat(ValueConverters.forType(long.class, conversionService).convert("-9223372036854775808"))
+                .isEqualTo(Long.MIN_VALUE);
+        assertThat(ValueConverters.forType(UUID.class, conversionService).convert("1-2-3-4-5"))
+                .isEqualTo(UUID.fromString("1-2-3-4-5"));
+    }
+
+    @Test
+    void fallsBackToTheConversionService() throws Exception {
+        assertThat(ValueConverters.forType(BigDecimal.class, conversionService).convert("2.50"))
+                .isEqualTo(new BigDecimal("2.50"));
+        assertThat(ValueConverters.forType(Long.class, conversionService).convert(5)).isEqualTo(5L);
+    }
+
+    @Test
+    void convertsBlankTextToNullAndInvalidTextToInvalidWithoutThrowing() throws Exception {
+        assertThat(ValueConverters.forType(Integer.class, conversionService).convert("  ")).isNull();
+        assertThat(ValueConverters.forType(int.class, conversionService).convert("")).isNull();
+
+        assertThat(ValueConverters.forType(int.class, conversionService).convert("abc"))
+                .isSameAs(ValueConverter.INVALID);
+        assertThat(ValueConverters.forType(int.class, conversionService).convert("2147483648"))
+                .isSameAs(ValueConverter.INVALID);
+        assertThat(ValueConverters.forType(Long.class, conversionService).convert("-"))
+                .isSameAs(ValueConverter.INVALID);
+        assertThat(ValueConverters.forType(double.class, conversionService).convert("1.2.3"))
+                .isSameAs(ValueConverter.INVALID);
+        assertThat(ValueConverters.forType(boolean.class, conversionService).convert("maybe"))
+                .isSameAs(ValueConverter.INVALID);
+        assertThat(ValueConverters.forType(UUID.class, conversionService).convert("not-a-uuid"))
+                .isSameAs(ValueConverter.INVALID);
+        assertThat(ValueConverters.forType(Color.class, conversionService).convert("BLUE"))
+                .isSameAs(ValueConverter.INVALID);
+    }
+
+    enum Color {
+        RED, GREEN
+    }
+}
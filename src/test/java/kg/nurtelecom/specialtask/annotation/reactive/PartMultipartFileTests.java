@@ -0,0 +1,45 @@
+package kg.nurtelecom.specialtask.annotation.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.multipart.FilePart;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartMultipartFileTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void transfersTheContentOffTheCallingThread() throws Exception {
+        PartMultipartFile file = new PartMultipartFile(filePart(), "content".getBytes(StandardCharsets.UTF_8));
+        Path target = directory.resolve("avatar.png");
+
+        file.transferTo(target.toFile());
+
+        assertThat(target).hasContent("content");
+    }
+
+    @Test
+    void reportsAFailedTransferAsIOException() {
+        PartMultipartFile file = new PartMultipartFile(filePart(), new byte[1]);
+
+        assertThatIOException().isThrownBy(() -> file.transferTo(directory.resolve("missing/avatar.png").toFile()));
+    }
+
+    private static FilePart filePart() {
+        FilePart part = mock(FilePart.class);
+        when(part.name()).thenReturn("avatar");
+        when(part.filename()).thenReturn("avatar.png");
+        when(part.headers()).thenReturn(new HttpHeaders());
+        return part;
+    }
+}
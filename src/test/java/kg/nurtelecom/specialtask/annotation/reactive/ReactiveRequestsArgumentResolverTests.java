@@ -0,0 +1,108 @@
+package kg.nurtelecom.specialtask.annotation.reactive;
+
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.annotation.resolver.BindingError;
+import kg.nurtelecom.specialtask.annotation.resolver.BindingException;
+import kg.nurtelecom.specialtask.annotation.resolver.BulkRequest;
+import kg.nurtelecom.specialtask.payload.requests.ProductBulkItem;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.mock.web.server.MockWebSession;
+import org.springframework.web.reactive.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ReactiveRequestsArgumentResolverTests {
+
+    private static final UUID USER_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    private final BindingPlanRegistry registry = new BindingPlanRegistry(new DefaultConversionService());
+    private final ReactiveRequestsArgumentResolver resolver = ReactiveRequestsArgumentResolver.builder(registry).build();
+
+    @Test
+    void bindsTheServletModelsWithoutBlocking() throws Exception {
+        MockServerWebExchange exchange = exchange("""
+                --boundary\r
+                Content-Disposition: form-data; name="username"\r
+                \r
+                TestProductV2\r
+                --boundary\r
+                Content-Disposition: form-data; name="file"; filename="da.txt"\r
+                Content-Type: text/plain\r
+                \r
+                Forty-two!\r
+                --boundary--\r
+                """);
+
+        ProductRequestPath result = (ProductRequestPath) resolver.resolveArgument(
+                parameter("path", ProductRequestPath.class), null, exchange).block();
+
+        assertThat(result.name()).isEqualTo("TestProductV2");
+        assertThat(result.description()).isEqualTo("Premium Product");
+        assertThat(result.quantity()).isEqualTo(10);
+        assertThat(result.userId()).isEqualTo(USER_ID);
+        assertThat(result.httpHeader()).isEqualTo("CustomHeaderValue");
+        assertThat(result.customAttribute()).isEqualTo("DefaultCustomAttribute");
+        assertThat(result.multipartFile().getOriginalFilename()).isEqualTo("da.txt");
+        assertThat(result.multipartFile().getBytes()).asString().isEqualTo("Forty-two!");
+        assertThat(registry.planFor(ProductRequestPath.class).isGenerated()).isTrue();
+    }
+
+    @Test
+    void emitsAllBindingErrors() throws Exception {
+        MockServerWebExchange exchange = exchange("--boundary--\r\n");
+        exchange.getAttributes().put(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("quantity", "ten"));
+
+        assertThatExceptionOfType(BindingException.class).isThrownBy(() -> resolver.resolveArgument(
+                        parameter("path", ProductRequestPath.class), null, exchange).block())
+                .satisfies(failure -> assertThat(failure.getErrors()).extracting(BindingError::source)
+                        .containsExactly(TypeOfDataRequest.BODY, TypeOfDataRequest.PATH,
+                                TypeOfDataRequest.MULTIPART));
+    }
+
+    @Test
+    void doesNotSupportBulkRequests() throws Exception {
+        assertThat(resolver.supportsParameter(parameter("bulk", BulkRequest.class))).isFalse();
+        assertThat(resolver.supportsParameter(parameter("path", ProductRequestPath.class))).isTrue();
+    }
+
+    private static MockServerWebExchange exchange(String body) {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/create/10")
+                .header("X-Custom-Header", "CustomHeaderValue")
+                .cookie(new HttpCookie("userId", USER_ID.toString()))
+                .contentType(MediaType.parseMediaType("multipart/form-data; boundary=boundary"))
+                .body(body);
+        MockWebSession session = new MockWebSession();
+        session.getAttributes().put("description", "Premium Product");
+        MockServerWebExchange exchange = MockServerWebExchange.builder(request).session(session).build();
+        exchange.getAttributes().put(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("quantity", "10"));
+        exchange.getAttributes().put("customAttribute", "DefaultCustomAttribute");
+        return exchange;
+    }
+
+    private static MethodParameter parameter(String methodName, Class<?> type) throws NoSuchMethodException {
+        return new MethodParameter(Handlers.class.getDeclaredMethod(methodName, type), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Handlers {
+
+        void path(@BindRequest ProductRequestPath path) {
+        }
+
+        void bulk(@BindRequest BulkRequest<ProductBulkItem> products) {
+        }
+    }
+}
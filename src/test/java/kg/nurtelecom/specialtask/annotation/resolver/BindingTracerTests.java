@@ -0,0 +1,100 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class BindingTracerTests {
+
+    private final BindingPlanRegistry registry = new BindingPlanRegistry(new DefaultConversionService());
+
+    @Test
+    void emitsOneRecordPerSampledBinding() throws Exception {
+        RequestsArgumentResolver resolver = RequestsArgumentResolver.builder(registry)
+                .tracer(new BindingTracer(new BindingTraceProperties(true, 1))).build();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("quantity", "5");
+
+        List<String> records = capture(() -> {
+            resolver.resolveArgument(parameter(), null, new ServletWebRequest(request), null);
+            assertThatIllegalStateException().isThrownBy(() -> resolver.resolveArgument(
+                    parameter(), null, new ServletWebRequest(new MockHttpServletRequest()), null));
+        });
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0))
+                .contains("\"model\":\"" + TracedModel.class.getName() + "\"")
+                .contains("\"source\":\"PARAM\"", "\"key\":\"quantity\"", "\"hit\":true")
+                .contains("\"error\":null");
+        assertThat(records.get(1)).contains("\"hit\":false", "\"error\":\"Value not found");
+    }
+
+    @Test
+    void emitsNothingWhenDisabled() throws Exception {
+        RequestsArgumentResolver resolver = RequestsArgumentResolver.builder(registry).build();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("quantity", "5");
+
+        List<String> records = capture(() ->
+                resolver.resolveArgument(parameter(), null, new ServletWebRequest(request), null));
+
+        assertThat(records).isEmpty();
+    }
+
+    private static List<String> capture(ThrowingRunnable action) throws Exception {
+        Logger logger = Logger.getLogger("kg.nurtelecom.specialtask.binding.trace");
+        List<String> records = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        logger.addHandler(handler);
+        try {
+            action.run();
+        } finally {
+            logger.removeHandler(handler);
+        }
+        return records;
+    }
+
+    private static MethodParameter parameter() throws NoSuchMethodException {
+        return new MethodParameter(BindingTracerTests.class.getDeclaredMethod("handle", TracedModel.class), 0);
+    }
+
+    @SuppressWarnings("unused")
+    private static void handle(@BindRequest TracedModel model) {
+    }
+
+    record TracedModel(@RequestType(value = TypeOfDataRequest.PARAM, key = "quantity") Integer quantity) {
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,78 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpSession;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestSourcesTests {
+
+    @Test
+    void indexesCookiesHeadersAndPathVariables() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("userId", "first"), new Cookie("other", "x"), new Cookie("userId", "second"));
+        request.addHeader("X-Custom-Header", "one");
+        request.addHeader("X-Custom-Header", "two");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("quantity", "10"));
+
+        RequestSources sources = RequestSources.of(request);
+
+        assertThat(sources.cookie("userId")).isEqualTo("first");
+        assertThat(sources.cookie("missing")).isNull();
+        assertThat(sources.header("x-custom-header")).isEqualTo("one");
+        assertThat(sources.pathVariable("quantity")).isEqualTo("10");
+        assertThat(RequestSources.of(request)).isSameAs(sources);
+    }
+
+    @Test
+    void takesNewSnapshotForOtherPathVariables() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("quantity", "10"));
+        RequestSources sources = RequestSources.of(request);
+        sources.pathVariable("quantity");
+
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("quantity", "20"));
+
+        assertThat(RequestSources.of(request)).isNotSameAs(sources);
+        assertThat(RequestSources.of(request).pathVariable("quantity")).isEqualTo("20");
+    }
+
+    @Test
+    void looksUpEachHeaderNameAndTheSessionOnce() {
+        AtomicInteger headerLookups = new AtomicInteger();
+        AtomicInteger sessionLookups = new AtomicInteger();
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public String getHeader(String name) {
+                headerLookups.incrementAndGet();
+                return super.getHeader(name);
+            }
+
+            @Override
+            public HttpSession getSession(boolean create) {
+                sessionLookups.incrementAndGet();
+                return super.getSession(create);
+            }
+        };
+        request.addHeader("X-Custom-Header", "one");
+        request.getSession().setAttribute("userId", "42");
+        sessionLookups.set(0);
+        RequestSources sources = RequestSources.of(request);
+
+        assertThat(sources.header("X-Custom-Header")).isEqualTo("one");
+        assertThat(sources.header("X-Custom-Header")).isEqualTo("one");
+        assertThat(sources.header("X-Missing")).isNull();
+        assertThat(sources.header("X-Missing")).isNull();
+        assertThat(sources.sessionAttribute("userId")).isEqualTo("42");
+        assertThat(sources.sessionAttribute("missing")).isNull();
+
+        assertThat(headerLookups).hasValue(2);
+        assertThat(sessionLookups).hasValue(1);
+    }
+}
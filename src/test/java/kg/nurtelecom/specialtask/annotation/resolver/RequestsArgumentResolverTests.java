@@ -0,0 +1,331 @@
+package kg.nurtelecom.specialtask.annotation.resolver;
+
+import jakarta.servlet.http.Cookie;
+import kg.nurtelecom.specialtask.annotation.annotations.BindRequest;
+import kg.nurtelecom.specialtask.annotation.annotations.RequestType;
+import kg.nurtelecom.specialtask.annotation.enums.TypeOfDataRequest;
+import kg.nurtelecom.specialtask.annotation.plan.BindingPlanRegistry;
+import kg.nurtelecom.specialtask.payload.requests.ProductBulkItem;
+import kg.nurtelecom.specialtask.payload.requests.ProductModel;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestParam;
+import kg.nurtelecom.specialtask.payload.requests.ProductRequestUpload;
+import kg.nurtelecom.specialtask.storage.UploadHandle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.ProblemDetail;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.mock.web.MockMultipartHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RequestsArgumentResolverTests {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+    private static final UUID USER_ID = UUID.fromString("0f8fad5b-d9cb-469f-a165-70867728950e");
+
+    private final BindingPlanRegistry registry = new BindingPlanRegistry(new DefaultConversionService());
+    private final RequestsArgumentResolver resolver = RequestsArgumentResolver.builder(registry).build();
+
+    @Test
+    void bindsRecordFromAllSources() throws Exception {
+        MockMultipartHttpServletRequest request = productRequest();
+
+        ProductRequestParam result = (ProductRequestParam) resolver.resolveArgument(
+                parameter("record", ProductRequestParam.class), null, new ServletWebRequest(request), null);
+
+        assertThat(result.name()).isEqualTo("TestProduct");
+        assertThat(result.description()).isEqualTo("Premium Product");
+        assertThat(result.quantity()).isEqualTo(5);
+        assertThat(result.productId()).isEqualTo(PRODUCT_ID);
+        assertThat(result.userId()).isEqualTo(USER_ID);
+        assertThat(result.httpHeader()).isEqualTo("CustomHeaderValue");
+        assertThat(result.multipartFile().getOriginalFilename()).isEqualTo("da.txt");
+        assertThat(result.customAttribute()).isEqualTo("DefaultCustomAttribute");
+    }
+
+    @Test
+    void bindsJavaBeanFromAllSources() throws Exception {
+        MockMultipartHttpServletRequest request = productRequest();
+
+        Object result = resolver.resolveArgument(
+                parameter("bean", ProductModel.class), null, new ServletWebRequest(request), null);
+
+        assertThat(ReflectionTestUtils.getField(result, "name")).isEqualTo("TestProduct");
+        assertThat(ReflectionTestUtils.getField(result, "quantity")).isEqualTo(5);
+        assertThat(ReflectionTestUtils.getField(result, "userId")).isEqualTo(USER_ID);
+        assertThat(ReflectionTestUtils.getField(result, "customAttribute")).isEqualTo("DefaultCustomAttribute");
+    }
+
+    @Test
+    void reusesCachedPlanPerModelClass() {
+        assertThat(registry.planFor(ProductRequestParam.class)).isSameAs(registry.planFor(ProductRequestParam.class));
+    }
+
+    @Test
+    void usesGeneratedBinderWhenPresent() {
+        assertThat(registry.planFor(ProductRequestParam.class).isGenerated()).isTrue();
+        assertThat(registry.planFor(ProductModel.class).isGenerated()).isTrue();
+    }
+
+    @Test
+    void failsWhenValueIsMissing() {
+        MockMultipartHttpServletRequest request = productRequest();
+        request.removeHeader("X-Custom-Header");
+
+        assertThatIllegalStateException().isThrownBy(() -> resolver.resolveArgument(
+                parameter("record", ProductRequestParam.class), null, new ServletWebRequest(request), null))
+                .withMessageContaining("X-Custom-Header");
+    }
+
+    @Test
+    void bindsUploadHandleFromUploadSource() throws Exception {
+        UploadHandle handle = new UploadHandle("42", "da.txt", Path.of("uploads", "da.txt"), 10);
+        RequestsArgumentResolver uploadResolver = RequestsArgumentResolver.builder(registry)
+                .uploadSource(id -> id.equals(handle.id()) ? handle : null).build();
+        MockMultipartHttpServletRequest request = productRequest();
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "42"));
+
+        ProductRequestUpload result = (ProductRequestUpload) uploadResolver.resolveArgument(
+                parameter("upload", ProductRequestUpload.class), null, new ServletWebRequest(request), null);
+
+        assertThat(result.upload().get()).isSameAs(handle);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", "43"));
+        ProductRequestUpload missing = (ProductRequestUpload) uploadResolver.resolveArgument(
+                parameter("upload", ProductRequestUpload.class), null, new ServletWebRequest(request), null);
+        assertThatIllegalStateException().isThrownBy(() -> missing.upload().get())
+                .withMessageContaining("UPLOAD");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bindsEachNdjsonLineInBatches() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/create/bulk");
+        request.addHeader("X-Custom-Header", "CustomHeaderValue");
+        request.setCookies(new Cookie("userId", USER_ID.toString()));
+        request.setAttribute("customAttribute", "DefaultCustomAttribute");
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("description", "Premium Product");
+        request.setSession(session);
+        request.setContent(("""
+                {"username": "A", "quantity": 1, "productId": "%s"}
+                {"username": "B", "quantity": "many", "productId": "%s"}
+
+                not json
+                {"username": "C", "quantity": 3, "productId": "%s"}""")
+                .formatted(PRODUCT_ID, PRODUCT_ID, PRODUCT_ID).getBytes(StandardCharsets.UTF_8));
+
+        BulkRequest<ProductBulkItem> products = (BulkRequest<ProductBulkItem>) resolver.resolveArgument(
+                parameter("bulk", BulkRequest.class), null, new ServletWebRequest(request), null);
+        List<String> results = new ArrayList<>();
+        products.forEach(2, new BulkRequest.ItemHandler<>() {
+            @Override
+            public void handle(BulkRequest.Item<ProductBulkItem> item) {
+                results.add(item.line() + ":" + (item.isBound() ? item.model().name() + item.model().quantity()
+                        : "error"));
+            }
+
+            @Override
+            public void endBatch() {
+                results.add("|");
+            }
+        });
+
+        assertThat(results).containsExactly("1:A1", "2:error", "|", "4:error", "5:C3", "|");
+    }
+
+    @Test
+    void bindsPrimitiveComponents() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("quantity", "5");
+        request.addParameter("express", "yes");
+        request.setCookies(new Cookie("userId", USER_ID.toString()));
+
+        PrimitiveOrder result = (PrimitiveOrder) resolver.resolveArgument(
+                parameter("primitive", PrimitiveOrder.class), null, new ServletWebRequest(request), null);
+
+        assertThat(result).isEqualTo(new PrimitiveOrder(5, true, USER_ID));
+        request.setParameter("quantity", "");
+        assertThatIllegalStateException().isThrownBy(() -> resolver.resolveArgument(
+                parameter("primitive", PrimitiveOrder.class), null, new ServletWebRequest(request), null))
+                .withMessageContaining("quantity");
+    }
+
+    @Test
+    void collectsAllBindingErrorsWithoutStackTrace() {
+        MockMultipartHttpServletRequest request = productRequest();
+        request.removeHeader("X-Custom-Header");
+        request.setParameter("quantity", "many");
+
+        BindingException failure = catchThrowableOfType(BindingException.class, () -> resolver.resolveArgument(
+                parameter("record", ProductRequestParam.class), null, new ServletWebRequest(request), null));
+
+        assertThat(failure.getStackTrace()).isEmpty();
+        assertThat(failure.getErrors()).extracting(BindingError::field, BindingError::source, BindingError::key)
+                .containsExactly(tuple("quantity", TypeOfDataRequest.PARAM, "quantity"),
+                        tuple("httpHeader", TypeOfDataRequest.HEADER, "X-Custom-Header"));
+        ProblemDetail problem = new BindingExceptionHandler().bindingFailed(failure);
+        assertThat(problem.getStatus()).isEqualTo(400);
+        assertThat(problem.getProperties()).containsEntry("errors", failure.getErrors());
+    }
+
+    @Test
+    void bindsDefaultsOfOptionalValues() throws Exception {
+        OptionalOrder result = (OptionalOrder) resolver.resolveArgument(parameter("optional", OptionalOrder.class),
+                null, new ServletWebRequest(new MockHttpServletRequest()), null);
+
+        assertThat(result).isEqualTo(new OptionalOrder(1, null, false));
+    }
+
+    @Test
+    void resolvesSupplierFieldsOnFirstAccess() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/create");
+        request.addHeader("X-Custom-Header", "CustomHeaderValue");
+        request.setContent("{\"username\": \"TestProduct\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("description", "Premium Product");
+        request.setSession(session);
+
+        LazyOrder result = (LazyOrder) resolver.resolveArgument(parameter("lazy", LazyOrder.class),
+                null, new ServletWebRequest(request), null);
+
+        assertThat(result.header()).isEqualTo("CustomHeaderValue");
+        assertThat(request.getInputStream().available()).isPositive();
+        assertThat(result.name().get()).isEqualTo("TestProduct");
+        assertThat(result.name().get()).isSameAs(result.name().get());
+        assertThat(result.description().get()).isEqualTo("Premium Product");
+        assertThatExceptionOfType(BindingException.class).isThrownBy(() -> result.quantity().get())
+                .withMessageContaining("quantity");
+    }
+
+    @Test
+    void bindsMultipartPartsAsStreamsAndSpooledPaths(@TempDir Path spoolDir) throws Exception {
+        RequestsArgumentResolver streamingResolver = RequestsArgumentResolver.builder(registry)
+                .multipartTargets(new MultipartTargets(new MultipartBindingProperties(spoolDir))).build();
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        byte[] content = "part content".getBytes(StandardCharsets.UTF_8);
+        request.addFile(new MockMultipartFile("file", "da.txt", "text/plain", content));
+        ServletRequestAttributes attributes = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attributes);
+        StreamingUpload result;
+        try {
+            result = (StreamingUpload) streamingResolver.resolveArgument(
+                    parameter("streaming", StreamingUpload.class), null, new ServletWebRequest(request), null);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(result.stream()).hasBinaryContent(content);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        assertThat(result.channel().read(buffer)).isEqualTo(content.length);
+        assertThat(result.path()).hasParent(spoolDir).hasBinaryContent(content);
+
+        attributes.requestCompleted();
+
+        assertThat(result.path()).doesNotExist();
+        assertThat(result.channel().isOpen()).isFalse();
+    }
+
+    private static MockMultipartHttpServletRequest productRequest() {
+        MockMultipartHttpServletRequest request = new MockMultipartHttpServletRequest();
+        request.addParameter("quantity", "5");
+        request.addParameter("productId", PRODUCT_ID.toString());
+        request.addParameter("username", "TestProduct");
+        request.addHeader("X-Custom-Header", "CustomHeaderValue");
+        request.setCookies(new Cookie("userId", USER_ID.toString()));
+        request.setAttribute("customAttribute", "DefaultCustomAttribute");
+        request.addFile(new MockMultipartFile("file", "da.txt", "text/plain", "Forty-two!".getBytes()));
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("description", "Premium Product");
+        request.setSession(session);
+        return request;
+    }
+
+    private static MethodParameter parameter(String methodName, Class<?> type) {
+        try {
+            return new MethodParameter(Handlers.class.getDeclaredMethod(methodName, type), 0);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Handlers {
+
+        void record(@BindRequest ProductRequestParam param) {
+        }
+
+        void bean(@BindRequest ProductModel model) {
+        }
+
+        void upload(@BindRequest ProductRequestUpload upload) {
+        }
+
+        void bulk(@BindRequest BulkRequest<ProductBulkItem> products) {
+        }
+
+        void primitive(@BindRequest PrimitiveOrder order) {
+        }
+
+        void optional(@BindRequest OptionalOrder order) {
+        }
+
+        void lazy(@BindRequest LazyOrder order) {
+        }
+
+        void streaming(@BindRequest StreamingUpload upload) {
+        }
+    }
+
+    record PrimitiveOrder(
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "quantity") int quantity,
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "express") boolean express,
+            @RequestType(value = TypeOfDataRequest.COOKIE, key = "userId") UUID userId
+    ) {
+    }
+
+    record OptionalOrder(
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "quantity", defaultValue = "1") int quantity,
+            @RequestType(value = TypeOfDataRequest.HEADER, key = "X-Note", required = false) String note,
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "express", required = false) boolean express
+    ) {
+    }
+
+    record LazyOrder(
+            @RequestType(value = TypeOfDataRequest.HEADER, key = "X-Custom-Header") String header,
+            @RequestType(value = TypeOfDataRequest.BODY, key = "username") Supplier<String> name,
+            @RequestType(value = TypeOfDataRequest.SESSION, key = "description") Supplier<String> description,
+            @RequestType(value = TypeOfDataRequest.PARAM, key = "quantity") Supplier<Integer> quantity
+    ) {
+    }
+
+    record StreamingUpload(
+            @RequestType(value = TypeOfDataRequest.MULTIPART, key = "file") InputStream stream,
+            @RequestType(value = TypeOfDataRequest.MULTIPART, key = "file") ReadableByteChannel channel,
+            @RequestType(value = TypeOfDataRequest.MULTIPART, key = "file") Path path
+    ) {
+    }
+}
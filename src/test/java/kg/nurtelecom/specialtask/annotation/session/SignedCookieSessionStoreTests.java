@@ -0,0 +1,71 @@
+package kg.nurtelecom.specialtask.annotation.session;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.HttpCookie;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class SignedCookieSessionStoreTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final SignedCookieSessionStore store = store(SECRET, NOW);
+
+    @Test
+    void readsAttributesWrittenOnAnotherNode() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        store.setAttribute(new MockHttpServletRequest(), response, "description", "Premium & Product");
+        String header = response.getHeader(HttpHeaders.SET_COOKIE);
+
+        assertThat(header).contains("HttpOnly", "SameSite=Lax", "Max-Age=1800");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie(header));
+        SignedCookieSessionStore otherNode = store(SECRET, NOW.plusSeconds(60));
+        assertThat(otherNode.getAttribute(request, "description")).isEqualTo("Premium & Product");
+        assertThat(otherNode.getAttribute(request, "missing")).isNull();
+    }
+
+    @Test
+    void rejectsTamperedForgedAndExpiredCookies() {
+        String token = store.encode(Map.of("description", "Premium Product"), NOW.plusSeconds(60).getEpochSecond());
+        String forged = store(SECRET.replace('0', '1'), NOW)
+                .encode(Map.of("description", "Forged"), NOW.plusSeconds(60).getEpochSecond());
+        String tampered = store.encode(Map.of("description", "Forged"), NOW.plusSeconds(60).getEpochSecond())
+                .split("\\.")[0] + "." + token.split("\\.")[1];
+
+        assertThat(store.decode(token)).containsEntry("description", "Premium Product");
+        assertThat(store.decode(tampered)).isEmpty();
+        assertThat(store.decode(forged)).isEmpty();
+        assertThat(store.decode("not a token")).isEmpty();
+        assertThat(store(SECRET, NOW.plusSeconds(61)).decode(token)).isEmpty();
+    }
+
+    @Test
+    void requiresLongEnoughSecret() {
+        assertThatIllegalStateException().isThrownBy(() -> store("short", NOW))
+                .withMessageContaining("binding.session.secret");
+    }
+
+    private static SignedCookieSessionStore store(String secret, Instant now) {
+        return new SignedCookieSessionStore(
+                new SessionStoreProperties("signed-cookie", "SESSION_DATA", secret, Duration.ofMinutes(30), false),
+                Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static Cookie cookie(String header) {
+        HttpCookie cookie = HttpCookie.parse(header).get(0);
+        return new Cookie(cookie.getName(), cookie.getValue());
+    }
+}
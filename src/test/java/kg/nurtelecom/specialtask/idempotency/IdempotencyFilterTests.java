@@ -0,0 +1,158 @@
+package kg.nurtelecom.specialtask.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTests {
+
+    @Test
+    void replaysTheStoredResponseOfACompletedDuplicate() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        IdempotencyFilter filter = filter(new IdempotencyStore(properties(null)));
+        FilterChain chain = created(handled);
+
+        MockHttpServletResponse first = send(filter, "/create", "key-1", chain);
+        MockHttpServletResponse retry = send(filter, "/create", "key-1", chain);
+        MockHttpServletResponse other = send(filter, "/create", "key-2", chain);
+        MockHttpServletResponse otherPath = send(filter, "/create/5", "key-1", chain);
+        MockHttpServletResponse otherClient = send(filter, "10.0.0.2", "/create", "key-1", chain);
+
+        assertThat(handled).hasValue(4);
+        assertThat(first.getStatus()).isEqualTo(201);
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsString()).isEqualTo("created 1");
+        assertThat(retry.getContentType()).startsWith("text/plain");
+        assertThat(retry.getHeader("Location")).isEqualTo("/uploads/1");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(other.getContentAsString()).isEqualTo("created 2");
+        assertThat(otherPath.getContentAsString()).isEqualTo("created 3");
+        assertThat(otherClient.getContentAsString()).isEqualTo("created 4");
+        assertThat(otherClient.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheOriginal() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        IdempotencyStore store = new IdempotencyStore(properties(null));
+        IdempotencyFilter filter = filter(store);
+        FilterChain chain = (request, response) -> {
+            entered.countDown();
+            try {
+                proceed.await();
+            } catch (InterruptedException e) {
+                throw new ServletException(e);
+            }
+            created(handled).doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<MockHttpServletResponse> original = executor.submit(() -> send(filter, "/create", "key", chain));
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Future<MockHttpServletResponse>> duplicates = List.of(
+                    executor.submit(() -> send(filter, "/create", "key", chain)),
+                    executor.submit(() -> send(filter, "/create", "key", chain)));
+            Thread.sleep(100);
+            proceed.countDown();
+
+            assertThat(original.get().getContentAsString()).isEqualTo("created 1");
+            for (Future<MockHttpServletResponse> duplicate : duplicates) {
+                assertThat(duplicate.get().getContentAsString()).isEqualTo("created 1");
+                assertThat(duplicate.get().getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(handled).hasValue(1);
+
+        FilterChain unavailable = (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        };
+        FilterChain rejected = (request, response) -> {
+            handled.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(400);
+        };
+        assertThat(send(filter, "/create", "failed", unavailable).getStatus()).isEqualTo(503);
+        assertThat(send(filter, "/create", "failed", rejected).getStatus()).isEqualTo(400);
+        assertThat(send(filter, "/create", "failed", created(handled)).getStatus()).isEqualTo(201);
+        assertThat(handled).hasValue(4);
+    }
+
+    @Test
+    void persistedResponsesSurviveARestart() throws Exception {
+        Path dir = Files.createTempDirectory("idempotency");
+        AtomicInteger handled = new AtomicInteger();
+        IdempotencyStore store = new IdempotencyStore(properties(dir));
+        send(filter(store), "/create", "key-1", created(handled));
+        send(filter(store), "/create", "key-2", created(handled));
+        store.destroy();
+        Files.write(dir.resolve("idempotency.log"), new byte[] {0, 42, 'P'}, StandardOpenOption.APPEND);
+
+        IdempotencyStore restarted = new IdempotencyStore(properties(dir));
+        MockHttpServletResponse replayed = send(filter(restarted), "/create", "key-2", created(handled));
+        restarted.destroy();
+
+        assertThat(restarted.size()).isEqualTo(2);
+        assertThat(handled).hasValue(2);
+        assertThat(replayed.getContentAsString()).isEqualTo("created 2");
+        assertThat(replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    private static IdempotencyProperties properties(Path persistenceDir) {
+        return new IdempotencyProperties(true, "Idempotency-Key", List.of("/create", "/create/{quantity}"), 100,
+                Duration.ofHours(1), Duration.ofSeconds(5), DataSize.ofKilobytes(64), persistenceDir);
+    }
+
+    private static IdempotencyFilter filter(IdempotencyStore store) {
+        return new IdempotencyFilter(store, properties(null));
+    }
+
+    private static FilterChain created(AtomicInteger handled) {
+        return (request, response) -> {
+            int count = handled.incrementAndGet();
+            response.setContentType("text/plain;charset=UTF-8");
+            ((HttpServletResponse) response).setStatus(201);
+            ((HttpServletResponse) response).setHeader("Location", "/uploads/" + count);
+            response.getOutputStream().write(("created " + count).getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, String path, String key, FilterChain chain)
+            throws Exception {
+        return send(filter, "127.0.0.1", path, key, chain);
+    }
+
+    private static MockHttpServletResponse send(IdempotencyFilter filter, String client, String path, String key,
+                                                FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setRemoteAddr(client);
+        request.addHeader("Idempotency-Key", key);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,175 @@
+package kg.nurtelecom.specialtask.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ChunkedUploadManagerTests {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    @Test
+    void assemblesChunksSentInParallel() throws Exception {
+        Path dir = Files.createTempDirectory("uploads");
+        ChunkedUploadManager manager = manager(dir);
+        byte[] content = content(95_000);
+        String id = manager.init("big.bin", content.length);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> chunks = new ArrayList<>();
+            for (int offset = content.length / CHUNK_SIZE * CHUNK_SIZE; offset >= 0; offset -= CHUNK_SIZE) {
+                int start = offset;
+                int length = Math.min(CHUNK_SIZE, content.length - start);
+                chunks.add(executor.submit(() -> manager.append(id,
+                        start, new ByteArrayInputStream(content, start, length))));
+            }
+            for (Future<Long> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertThat(manager.received(id)).isEqualTo("0-" + content.length);
+        assertThat(manager.findUpload(id)).isNull();
+
+        UploadHandle handle = manager.complete(id);
+
+        assertThat(handle.path()).isEqualTo(dir.resolve("big.bin"));
+        assertThat(handle.size()).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(handle.path())).isEqualTo(content);
+        assertThat(manager.findUpload(id)).isEqualTo(handle);
+        assertThat(Files.list(dir)).containsExactly(handle.path());
+    }
+
+    @Test
+    void reportsMissingRangesUntilResent() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        ChunkedUploadManager manager = manager(dir);
+        byte[] content = content(3 * CHUNK_SIZE);
+        String id = manager.init("da.txt", content.length);
+        manager.append(id, 0, new ByteArrayInputStream(content, 0, CHUNK_SIZE));
+        manager.append(id, 2 * CHUNK_SIZE, new ByteArrayInputStream(content, 2 * CHUNK_SIZE, CHUNK_SIZE));
+
+        assertThatExceptionOfType(IncompleteUploadException.class).isThrownBy(() -> manager.complete(id))
+                .withMessageContaining("0-10000,20000-30000");
+
+        manager.append(id, CHUNK_SIZE - 100, new ByteArrayInputStream(content, CHUNK_SIZE - 100, CHUNK_SIZE + 100));
+        assertThat(Files.readAllBytes(manager.complete(id).path())).isEqualTo(content);
+    }
+
+    @Test
+    void rejectsChunksOutsideOfUploadSize() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        ChunkedUploadManager manager = manager(dir);
+        String id = manager.init("da.txt", 10);
+
+        assertThatExceptionOfType(InvalidChunkException.class).isThrownBy(() ->
+                manager.append(id, 5, new ByteArrayInputStream(content(10))));
+        assertThatExceptionOfType(InvalidChunkException.class).isThrownBy(() ->
+                manager.init("da.txt", DataSize.ofMegabytes(2).toBytes()));
+        assertThatExceptionOfType(UploadNotFoundException.class).isThrownBy(() ->
+                manager.append("unknown", 0, new ByteArrayInputStream(content(10))));
+        assertThat(manager.findUpload("unknown")).isNull();
+    }
+
+    @Test
+    void expiresAbandonedUploads() throws Exception {
+        Path dir = Files.createTempDirectory("uploads");
+        ChunkedUploadManager manager = manager(dir, Duration.ofMillis(50));
+        try {
+            String id = manager.init("da.txt", 10);
+            assertThat(Files.list(dir)).hasSize(1);
+            Thread.sleep(100);
+
+            manager.expire();
+
+            assertThat(Files.list(dir)).isEmpty();
+            assertThatExceptionOfType(UploadNotFoundException.class).isThrownBy(() -> manager.received(id));
+        } finally {
+            manager.destroy();
+        }
+    }
+
+    @Test
+    void completionWaitsForChunksInFlight() throws Exception {
+        Path dir = Files.createTempDirectory("uploads");
+        ChunkedUploadManager manager = manager(dir);
+        byte[] content = content(10);
+        String id = manager.init("da.txt", content.length);
+        manager.append(id, 0, new ByteArrayInputStream(content, 0, 5));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slowChunk = new InputStream() {
+            private final InputStream rest = new ByteArrayInputStream(content, 5, 5);
+
+            @Override
+            public int read() throws IOException {
+                return rest.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return rest.read(buffer, offset, length);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> chunk = executor.submit(() -> manager.append(id, 5, slowChunk));
+            assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<UploadHandle> completion = executor.submit(() -> manager.complete(id));
+            Thread.sleep(100);
+            assertThat(completion).isNotDone();
+
+            release.countDown();
+
+            assertThat(chunk.get()).isEqualTo(5);
+            assertThat(Files.readAllBytes(completion.get().path())).isEqualTo(content);
+        } finally {
+            executor.shutdown();
+        }
+        assertThatExceptionOfType(UploadNotFoundException.class).isThrownBy(() ->
+                manager.append(id, 0, new ByteArrayInputStream(content)));
+    }
+
+    private static ChunkedUploadManager manager(Path dir) throws IOException {
+        return manager(dir, Duration.ofHours(1));
+    }
+
+    private static ChunkedUploadManager manager(Path dir, Duration expireAfter) throws IOException {
+        UploadProperties properties = new UploadProperties(dir, DataSize.ofKilobytes(4), 2, false, false,
+                new UploadProperties.Async(false, 8, 1, false, 4, 100),
+                new UploadProperties.Chunked(DataSize.ofMegabytes(1), expireAfter, 100));
+        return new ChunkedUploadManager(new UploadStorage(properties), properties);
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+}
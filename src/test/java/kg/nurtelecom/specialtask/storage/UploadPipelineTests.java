@@ -0,0 +1,115 @@
+package kg.nurtelecom.specialtask.storage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kg.nurtelecom.specialtask.storage.UploadStorage.StagedUpload;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class UploadPipelineTests {
+
+    @Test
+    void storesQueuedUploadsInFsyncBatches() throws Exception {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadProperties properties = properties(dir, 16);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UploadPipeline pipeline = new UploadPipeline(new UploadStorage(properties), properties, registry);
+        try {
+            UploadTicket first = pipeline.submit(file("a.txt"));
+            UploadTicket second = pipeline.submit(file("b.txt"));
+
+            assertThat(first.isDone()).isFalse();
+            awaitStored(pipeline, first.id());
+            awaitStored(pipeline, second.id());
+            assertThat(Files.readString(dir.resolve("a.txt"))).isEqualTo("a.txt");
+            assertThat(Files.readString(dir.resolve("b.txt"))).isEqualTo("b.txt");
+            assertThat(registry.get("upload.bytes").summary().totalAmount()).isEqualTo(10);
+            assertThat(registry.get("upload.write").tag("phase", "stage").timer().count()).isEqualTo(2);
+            assertThat(registry.get("upload.write").tag("phase", "commit").timer().count()).isPositive();
+        } finally {
+            pipeline.destroy();
+        }
+    }
+
+    @Test
+    void rejectsUploadsWhenQueueIsFull() throws Exception {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadProperties properties = properties(dir, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        UploadPipeline pipeline = new UploadPipeline(new UploadStorage(properties), properties, registry);
+        pipeline.destroy();
+        Thread.sleep(100);
+
+        pipeline.submit(file("a.txt"));
+
+        assertThatExceptionOfType(UploadRejectedException.class).isThrownBy(() -> pipeline.submit(file("b.txt")));
+        assertThat(registry.get("upload.bytes").summary().count()).isEqualTo(1);
+        try (var files = Files.list(dir)) {
+            assertThat(files).hasSize(1);
+        }
+
+        pipeline.destroy();
+
+        try (var files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void keepsWritingAfterAStorageFailure() throws Exception {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadProperties properties = properties(dir, 1);
+        UploadStorage storage = new UploadStorage(properties) {
+            @Override
+            public Path commit(StagedUpload upload) throws IOException {
+                if (upload.name().equals("bad.txt")) {
+                    throw new UncheckedIOException(new IOException("disk gone"));
+                }
+                return super.commit(upload);
+            }
+        };
+        UploadPipeline pipeline = new UploadPipeline(storage, properties);
+        try {
+            UploadTicket bad = pipeline.submit(file("bad.txt"));
+            await(pipeline, bad.id(), UploadStatus.FAILED);
+            UploadTicket good = pipeline.submit(file("good.txt"));
+            await(pipeline, good.id(), UploadStatus.STORED);
+
+            try (var files = Files.list(dir)) {
+                assertThat(files).containsExactly(dir.resolve("good.txt"));
+            }
+        } finally {
+            pipeline.destroy();
+        }
+    }
+
+    private static void awaitStored(UploadPipeline pipeline, String id) throws InterruptedException {
+        await(pipeline, id, UploadStatus.STORED);
+    }
+
+    private static void await(UploadPipeline pipeline, String id, UploadStatus status) throws InterruptedException {
+        for (int i = 0; i < 100 && pipeline.status(id) == UploadStatus.PENDING; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(pipeline.status(id)).isEqualTo(status);
+    }
+
+    private static MockMultipartFile file(String name) throws IOException {
+        return new MockMultipartFile("file", name, "text/plain", name.getBytes());
+    }
+
+    private static UploadProperties properties(Path dir, int queueCapacity) {
+        return new UploadProperties(dir, DataSize.ofKilobytes(4), 2, true, false,
+                new UploadProperties.Async(true, queueCapacity, 1, true, 8, 100),
+                new UploadProperties.Chunked(DataSize.ofMegabytes(1), Duration.ofHours(1), 100));
+    }
+}
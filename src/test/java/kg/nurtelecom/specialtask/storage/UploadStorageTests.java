@@ -0,0 +1,120 @@
+package kg.nurtelecom.specialtask.storage;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+
+class UploadStorageTests {
+
+    @Test
+    void storesThroughContainerTransfer() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadStorage storage = new UploadStorage(properties(dir, true));
+        byte[] content = content(100_000);
+
+        Path stored = storage.store(new MockMultipartFile("file", "da.txt", "text/plain", content));
+
+        assertThat(stored).isEqualTo(dir.resolve("da.txt"));
+        assertThat(Files.readAllBytes(stored)).isEqualTo(content);
+        assertThat(Files.list(dir)).containsExactly(stored);
+    }
+
+    @Test
+    void storesThroughDirectBufferAndReplacesExistingFile() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadStorage storage = new UploadStorage(properties(dir, false));
+        storage.store(new MockMultipartFile("file", "da.txt", "text/plain", content(10)));
+        byte[] content = content(100_000);
+
+        Path stored = storage.store(new MockMultipartFile("file", "da.txt", "text/plain", content));
+
+        assertThat(Files.readAllBytes(stored)).isEqualTo(content);
+        assertThat(Files.list(dir)).containsExactly(stored);
+    }
+
+    @Test
+    void keepsUploadsInsideUploadDirectory() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadStorage storage = new UploadStorage(properties(dir, false));
+
+        Path stored = storage.store(new MockMultipartFile("file", "../../da.txt", "text/plain", content(10)));
+
+        assertThat(stored).isEqualTo(dir.resolve("da.txt"));
+        assertThatIOException().isThrownBy(() -> storage.store(
+                new MockMultipartFile("file", "..", "text/plain", content(10))));
+    }
+
+    @Test
+    void storesDuplicateContentOnce() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadStorage storage = new UploadStorage(properties(dir, false, true));
+        byte[] content = content(100_000);
+
+        Path first = storage.store(new MockMultipartFile("file", "a.txt", "text/plain", content));
+        Path second = storage.store(new MockMultipartFile("file", "b.txt", "text/plain", content));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(Files.readAllBytes(first)).isEqualTo(content);
+        assertThat(storage.getIndex().resolve("a.txt")).isEqualTo(first);
+        assertThat(storage.getIndex().resolve("b.txt")).isEqualTo(first);
+        try (Stream<Path> files = Files.walk(dir.resolve("blobs"))) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(first);
+        }
+    }
+
+    @Test
+    void hashesContainerTransferAndReloadsIndex() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadStorage storage = new UploadStorage(properties(dir, true, true));
+        storage.store(new MockMultipartFile("file", "da.txt", "text/plain", content(10)));
+        byte[] content = content(100_000);
+
+        Path stored = storage.store(new MockMultipartFile("file", "da.txt", "text/plain", content));
+
+        UploadIndex reloaded = new UploadIndex(dir);
+        assertThat(reloaded.resolve("da.txt")).isEqualTo(stored);
+        assertThat(Files.readAllBytes(reloaded.resolve("da.txt"))).isEqualTo(content);
+    }
+
+    @Test
+    void deletesBlobsWhoseLastNameIsReplaced() throws IOException {
+        Path dir = Files.createTempDirectory("uploads");
+        UploadStorage storage = new UploadStorage(properties(dir, false, true));
+        Path shared = storage.store(new MockMultipartFile("file", "a.txt", "text/plain", content(10)));
+        storage.store(new MockMultipartFile("file", "b.txt", "text/plain", content(10)));
+
+        Path replaced = storage.store(new MockMultipartFile("file", "a.txt", "text/plain", content(20)));
+        assertThat(shared).exists();
+        Path latest = storage.store(new MockMultipartFile("file", "b.txt", "text/plain", content(30)));
+
+        try (Stream<Path> files = Files.walk(dir.resolve("blobs"))) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactlyInAnyOrder(replaced, latest);
+        }
+    }
+
+    private static UploadProperties properties(Path dir, boolean containerTransfer) {
+        return properties(dir, containerTransfer, false);
+    }
+
+    private static UploadProperties properties(Path dir, boolean containerTransfer, boolean contentAddressed) {
+        return new UploadProperties(dir, DataSize.ofKilobytes(4), 2, containerTransfer, contentAddressed,
+                new UploadProperties.Async(false, 8, 1, false, 4, 100),
+                new UploadProperties.Chunked(DataSize.ofMegabytes(1), Duration.ofHours(1), 100));
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+}